@@ -1,6 +1,10 @@
+package linkedlists.cli;
+
 import java.util.Scanner;
 import java.util.InputMismatchException;
 
+import linkedlists.playlist.BasicPlayList;
+
 /**
  * The BasicPlayListMain class provides a menu-driven interface for managing a playlist.
  * Users can add songs, display the playlist, remove songs, and display the total duration of the playlist.
@@ -50,6 +54,7 @@ public class BasicPlayListMain {
                          // Consume newline left-over
                         scanner.nextLine();
                         playlist.addSong(title, artist, duration);
+                        System.out.println("Song has been added successfully.\n");
                         break;
                     case 2:
                         // Add a song at a specific position
@@ -65,7 +70,11 @@ public class BasicPlayListMain {
                         int position = scanner.nextInt();
                         // Consume newline left-over
                         scanner.nextLine();
-                        playlist.addSongAtPosition(title, artist, duration, position);
+                        if (playlist.addSongAtPosition(title, artist, duration, position)) {
+                            System.out.println("Song has been added successfully.\n");
+                        } else {
+                            System.out.println("Position out of bounds\n");
+                        }
                         break;
                     case 3:
                         // Display the playlist
@@ -81,13 +90,25 @@ public class BasicPlayListMain {
                         position = scanner.nextInt();
                         // Consume newline left-over
                         scanner.nextLine(); 
-                        playlist.removeSongByPosition(position);
+                        if (playlist.size() == 0) {
+                            System.out.println("The playlist is empty.\n");
+                        } else if (playlist.removeSongByPosition(position) == null) {
+                            System.out.println("Position out of bounds\n");
+                        } else {
+                            System.out.println("Song has been removed successfully.\n");
+                        }
                         break;
                     case 6:
                         // Remove a song by title
                         System.out.print("Enter the title of the song to remove: ");
                         title = scanner.nextLine();
-                        playlist.removeSongByTitle(title);;
+                        if (playlist.size() == 0) {
+                            System.out.println("The playlist is empty. There is nothing to remove.\n");
+                        } else if (playlist.removeSongByTitle(title) > 0) {
+                            System.out.println("All songs with the title " + title + " have been removed.\n");
+                        } else {
+                            System.out.println("There is no song with the title " + title + "\n");
+                        }
                         break;
                     case 7:
                         // Exit the application
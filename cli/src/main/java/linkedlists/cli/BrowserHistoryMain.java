@@ -1,7 +1,12 @@
+package linkedlists.cli;
+
 import java.io.IOException;
 import java.util.InputMismatchException;
 import java.util.Scanner;
 
+import linkedlists.history.BrowserHistory;
+import linkedlists.history.HistoryTimestamps;
+
 /**
  * The BrowserHistoryMain class provides a menu-driven interface for managing browser history.
  * Users can add pages, remove pages, display history, save history to a file, and load history from a file.
@@ -29,7 +34,9 @@ public class BrowserHistoryMain {
             System.out.println("4. Display History Backward");
             System.out.println("5. Save History to File");
             System.out.println("6. Load History from File");
-            System.out.println("7. Exit");
+            System.out.println("7. Display History Between Times");
+            System.out.println("8. Remove History Between Times");
+            System.out.println("9. Exit");
             System.out.print("Option: ");
 
             try {
@@ -49,6 +56,7 @@ public class BrowserHistoryMain {
                         String time = scanner.nextLine();
                         // Add the page to history
                         history.addPage(url, time); 
+                        System.out.println("History has been added successfully.");
                         break;
 
                     case 2:
@@ -57,7 +65,13 @@ public class BrowserHistoryMain {
                         // Get time to remove from user
                         String removeTime = scanner.nextLine(); 
                          // Remove the page from history
-                        history.removePage(removeTime);
+                        if (history.size() == 0) {
+                            System.out.println("Browsing history is empty. No pages to remove.");
+                        } else if (history.removePage(removeTime) == 0) {
+                            System.out.println("No pages found with the timestamp: " + removeTime);
+                        } else {
+                            System.out.println("All pages with the timestamp " + removeTime + " have been removed.");
+                        }
                         break;
 
                     case 3:
@@ -71,15 +85,45 @@ public class BrowserHistoryMain {
 
                     case 5:
                         // Save history to file
-                        history.saveHistoryToFile(); 
+                        if (history.saveHistoryToFile()) {
+                            System.out.println("Browsing history saved to file.");
+                        } else {
+                            System.out.println("Browsing history is empty. Nothing to save.");
+                        }
                         break;
 
                     case 6:
                         // Load history from file
-                        history.loadHistoryFromFile();
+                        BrowserHistory.LoadReport report = history.loadHistoryFromFile();
+                        // Condition to check if the file is empty
+                        if (report.getLoaded() == 0 && report.getSkipped() == 0) {
+                            System.out.println("The file is empty.");
+                        } else {
+                            System.out.println("History loaded successfully: " + report.getLoaded() + " entries loaded, "
+                                    + report.getSkipped() + " skipped.");
+                        }
                         break;
 
                     case 7:
+                        // Display the pages visited in a time range
+                        System.out.print("Enter start time (e.g., 10:00 AM): ");
+                        long from = HistoryTimestamps.parse(scanner.nextLine());
+                        System.out.print("Enter end time (e.g., 11:00 AM): ");
+                        long to = HistoryTimestamps.parse(scanner.nextLine());
+                        history.displayRange(from, to);
+                        break;
+
+                    case 8:
+                        // Remove the pages visited in a time range
+                        System.out.print("Enter start time to remove (e.g., 10:00 AM): ");
+                        long removeFrom = HistoryTimestamps.parse(scanner.nextLine());
+                        System.out.print("Enter end time to remove (e.g., 11:00 AM): ");
+                        long removeTo = HistoryTimestamps.parse(scanner.nextLine());
+                        int removed = history.removeRange(removeFrom, removeTo);
+                        System.out.println(removed + " pages have been removed.");
+                        break;
+
+                    case 9:
                         // Exit the application by setting the running flag to false 
                         System.out.println("So sad to see you go. Hope to see you again");
                         scanner.close();
@@ -95,6 +139,9 @@ public class BrowserHistoryMain {
                 System.out.println("Invalid input. Please enter a number.");
                 // Consume the invalid input
                 scanner.nextLine(); 
+            } catch (IllegalArgumentException e) {
+                // Handle times that cannot be read
+                System.out.println("Invalid time. Please enter a time such as 10:00 AM.");
             } catch (IOException e) {
                 System.out.println("Error loading or saving history from file: " + e.getMessage());
                 scanner.nextLine();
@@ -1,6 +1,11 @@
+package linkedlists.cli;
+
 import java.util.Scanner;
 import java.util.InputMismatchException;
 
+import linkedlists.playlist.EnhancedPlaylist;
+import linkedlists.playlist.SongNode;
+
 /**
  * The EnhancedPlayListMain class provides a menu-driven interface for managing a playlist.
  * Users can add songs, display the playlist, remove songs,shuffle songs, play next and previous songs, and display the total duration of the playlist.
@@ -48,11 +53,12 @@ public class EnhancedPlayListMain {
                         String title = scanner.nextLine();
                         System.out.print("Enter artist: ");
                         String artist = scanner.nextLine();
-                        System.out.print("Please be noted that the program will wait for the number of duration of the song when playing the song. Enter duration (in seconds): ");
+                        System.out.print("Enter duration (in seconds): ");
                         int duration = scanner.nextInt();
                         // Consume newline left-over
                         scanner.nextLine();
                         playlist.addSong(title, artist, duration);
+                        System.out.println("Song has been added successfully.\n");
                         break;
                     case 2:
                         // Get song details and position from user and add the song at the specified position
@@ -60,7 +66,7 @@ public class EnhancedPlayListMain {
                         title = scanner.nextLine();
                         System.out.print("Enter artist: ");
                         artist = scanner.nextLine();
-                        System.out.print("Please be noted that the program will wait for the number of duration of the song when playing the song. 1Enter duration (in seconds): ");
+                        System.out.print("Enter duration (in seconds): ");
                         duration = scanner.nextInt();
                         // Consume newline left-over
                         scanner.nextLine();
@@ -68,7 +74,11 @@ public class EnhancedPlayListMain {
                         int position = scanner.nextInt();
                         // Consume newline left-over
                         scanner.nextLine();
-                        playlist.addSongAtPosition(title, artist, duration, position);
+                        if (playlist.addSongAtPosition(title, artist, duration, position)) {
+                            System.out.println("Song has been added successfully.\n");
+                        } else {
+                            System.out.println("Position out of bounds\n");
+                        }
                         break;
                     case 3:
                         // Display all songs in the playlist
@@ -82,7 +92,13 @@ public class EnhancedPlayListMain {
                         // Get the title of the song to remove from the user and remove it from the playlist
                         System.out.print("Enter the title of the song to remove: ");
                         title = scanner.nextLine();
-                        playlist.remmoveSongByTitL(title);
+                        if (playlist.size() == 0) {
+                            System.out.println("The playlist is empty. There is nothing to remove\n");
+                        } else if (playlist.removeSongByTitle(title) > 0) {
+                            System.out.println("All songs with the title " + title + " have been removed.\n");
+                        } else {
+                            System.out.println("There is no title with the title " + title + "\n");
+                        }
                         break;
                     case 6:
                         // Get the position of the song to remove from the user and remove it from the playlist
@@ -90,21 +106,47 @@ public class EnhancedPlayListMain {
                         position = scanner.nextInt();
                         // Consume newline left-over
                         scanner.nextLine();
-                        playlist.removeSongByPosition(position);
+                        if (playlist.size() == 0) {
+                            System.out.println("The playlist is empty\n");
+                        } else if (playlist.removeSongByPosition(position) == null) {
+                            System.out.println("Position out of bounds\n");
+                        } else {
+                            System.out.println("Song has been removed successfully.\n");
+                        }
                         break;
                     case 7:
                         // Shuffle the songs in the playlist
-                        playlist.shuffle();
+                        if (playlist.size() == 0) {
+                            System.out.println("The playlist is empty\n");
+                        } else {
+                            System.out.println("Shuffling playlist...");
+                            playlist.shuffle();
+                            System.out.println("The playlist has been shuffled successfully.\n");
+                        }
                         break;
                     case 8:
                         // Play the next song in the playlist
                         System.out.println("Playing next song:");
-                        playlist.playNext();
+                        SongNode next = playlist.playNext();
+                        if (next != null) {
+                            System.out.println("Playing: " + next);
+                        } else if (playlist.size() == 0) {
+                            System.out.println("The playlist is empty\n");
+                        } else {
+                            System.out.println("End of playlist. You can play previous song to play the last song\n");
+                        }
                         break;
                     case 9:
                         // Play the previous song in the playlist
                         System.out.println("Playing previous song:");
-                        playlist.playPrevious();
+                        SongNode previous = playlist.playPrevious();
+                        if (previous != null) {
+                            System.out.println("Playing: " + previous);
+                        } else if (playlist.size() == 0) {
+                            System.out.println("The playlist is empty\n");
+                        } else {
+                            System.out.println("Start of playlist. You can play next to play the first song.\n");
+                        }
                         break;
                     case 10:
                         // Exit the application
@@ -119,9 +161,6 @@ public class EnhancedPlayListMain {
                 // Handle invalid numeric input
                 System.out.println("Invalid input. Please enter a valid number.");
                 scanner.nextLine();
-            } catch (InterruptedException e) {
-                System.out.println("Song playback interrupted");
-                scanner.nextLine();
             } catch (Exception e) {
                 // Handle any other exceptions
                 System.out.println("An error occurred: " + e.getMessage());
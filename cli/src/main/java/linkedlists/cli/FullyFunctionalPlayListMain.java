@@ -1,9 +1,16 @@
+package linkedlists.cli;
+
 import java.util.Scanner;
 import java.util.InputMismatchException;
 
+import linkedlists.playlist.FullyFunctionalPlaylist;
+import linkedlists.playlist.PlaybackEngine;
+import linkedlists.playlist.PlaybackListener;
+import linkedlists.playlist.SongNode;
+
 /**
  * The FullyFunctionalPlayListMain class provides a menu-driven interface for managing a playlist.
- * Users can add songs, display the playlist, remove songs,shuffle songs, play next and previous songs, toggle the continuous play, and display the total duration of the playlist.
+ * Users can add songs, display the playlist, remove songs,shuffle songs, play next and previous songs, toggle the continuous play and shuffle play, and display the total duration of the playlist.
  */
 public class FullyFunctionalPlayListMain {
 
@@ -35,7 +42,8 @@ public class FullyFunctionalPlayListMain {
                 System.out.println("9. Play next song");
                 System.out.println("10. Play previous song");
                 System.out.println("11. Play your playlist");
-                System.out.println("12. Exit");
+                System.out.println("12. Toggle shuffle play");
+                System.out.println("13. Exit");
                 System.out.print("Option:");
 
                 // Read user choice
@@ -58,6 +66,7 @@ public class FullyFunctionalPlayListMain {
                         scanner.nextLine();
                         // Add song to playlist
                         playlist.addSong(title, artist, duration);
+                        System.out.println("Song has been added successfully.");
                         break;
                     case 2:
                         // Read song title
@@ -77,7 +86,11 @@ public class FullyFunctionalPlayListMain {
                         // Consume newline character
                         scanner.nextLine();
                         // Add song at specific position
-                        playlist.addSongAtPosition(title, artist, duration, position);
+                        if (playlist.addSongAtPosition(title, artist, duration, position)) {
+                            System.out.println("Song has been added successfully.");
+                        } else {
+                            System.out.println("Position out of bounds");
+                        }
                         break;
                     case 3:
                         // Display all songs in playlist
@@ -92,7 +105,13 @@ public class FullyFunctionalPlayListMain {
                         System.out.print("Enter the title of the song to remove: ");
                         title = scanner.nextLine();
                         // Remove song by title
-                        playlist.remmoveSongByTitle(title);
+                        if (playlist.size() == 0) {
+                            System.out.println("The playlist is empty. There is nothing to remove");
+                        } else if (playlist.removeSongByTitle(title) > 0) {
+                            System.out.println("All songs with the title " + title + " have been removed.");
+                        } else {
+                            System.out.println("There is no song with the title " + title);
+                        }
                         break;
                     case 6:
                         // Read position to remove
@@ -101,30 +120,69 @@ public class FullyFunctionalPlayListMain {
                         // Consume newline character
                         scanner.nextLine();
                         // Remove song by position
-                        playlist.removeSongByPosition(position);
+                        if (playlist.removeSongByPosition(position) == null) {
+                            System.out.println("Position out of bounds");
+                        } else {
+                            System.out.println("Song has been removed successfully.");
+                        }
                         break;
                     case 7:
                         // Shuffle the playlist
-                        playlist.shuffle();
+                        if (playlist.size() == 0) {
+                            System.out.println("The list is empty");
+                        } else {
+                            System.out.println("Shuffling playlist...");
+                            playlist.shuffle();
+                            System.out.println("The playlist has been shuffled successfully.");
+                        }
                         break;
                     case 8:
                         // Toggle continuous play mode
                         System.out.println("Toggling continuous play...");
-                        playlist.toggleContinuousPlay();
+                        if (playlist.size() == 0) {
+                            System.out.println("The list is empty");
+                        } else if (playlist.toggleContinuousPlay()) {
+                            System.out.println("Continuous play mode enabled.");
+                        } else {
+                            System.out.println("Continuous play mode disabled.");
+                        }
                         break;
                     case 9:
                         // Play the next song
-                        playlist.playNext();
+                        if (playlist.size() == 0) {
+                            System.out.println("The playlist is empty");
+                            break;
+                        }
+                        System.out.println("Playing next song:");
+                        SongNode next = playlist.playNext();
+                        System.out.println(next != null ? "Playing: " + next : "That's the end.");
                         break;
                     case 10:
                         // Play the previous song
-                        playlist.playPrevious();
+                        if (playlist.size() == 0) {
+                            System.out.println("The list is empty");
+                            break;
+                        }
+                        System.out.println("Playing previous song:");
+                        SongNode previous = playlist.playPrevious();
+                        System.out.println(previous != null ? "Playing: " + previous : "That is all");
                         break;
                     case 11:
                         // Play the entire playlist
-                        playlist.playPlaylist();
+                        playPlaylist(playlist, scanner);
                         break;
                     case 12:
+                        // Toggle shuffle play mode
+                        System.out.println("Toggling shuffle play...");
+                        if (playlist.size() == 0) {
+                            System.out.println("The list is empty");
+                        } else if (playlist.toggleShufflePlay()) {
+                            System.out.println("Shuffle play mode enabled.");
+                        } else {
+                            System.out.println("Shuffle play mode disabled.");
+                        }
+                        break;
+                    case 13:
                         // Exit message
                         System.out.println("So sad to see you go. Hope to see you again.");
                         // Close scanner
@@ -152,4 +210,44 @@ public class FullyFunctionalPlayListMain {
             }
         }
     }
+
+    /**
+     * Plays the playlist, waiting until it has finished. With continuous play enabled, the
+     * playlist is played three times and the user is asked whether to go on for three more.
+     *
+     * @param playlist The playlist to play
+     * @param scanner  The scanner to read the user's answers from
+     * @throws InterruptedException If the wait for the playlist to finish is interrupted
+     */
+    private static void playPlaylist(FullyFunctionalPlaylist playlist, Scanner scanner) throws InterruptedException {
+        // If the playlist is empty
+        if (playlist.size() == 0) {
+            // Print message
+            System.out.println("The list is empty");
+            return;
+        }
+
+        // Print each song as the engine starts it
+        PlaybackListener printer = song -> System.out.println("Playing: " + song.getTitle() + " by " + song.getArtist());
+
+        // If continuous play is disabled
+        if (!playlist.isContinuousPlay()) {
+            // Play the playlist once
+            playlist.startPlayback(PlaybackEngine.shared(), printer, 1).awaitCompletion();
+            return;
+        }
+        // Loop while continuous play is enabled
+        while (playlist.isContinuousPlay()) {
+            // Play the playlist 3 times
+            playlist.startPlayback(PlaybackEngine.shared(), printer, 3).awaitCompletion();
+            // Ask user if they want to continue
+            System.out.print("Do you want to continue playing the playlist for another 3 times? (yes/no):");
+            // Get user response
+            String response = scanner.nextLine().trim();
+            // Turn continuous play off unless the user wants more
+            if (!response.equalsIgnoreCase("yes")) {
+                playlist.toggleContinuousPlay();
+            }
+        }
+    }
 }
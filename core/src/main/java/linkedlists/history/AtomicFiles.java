@@ -0,0 +1,136 @@
+package linkedlists.history;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The AtomicFiles class replaces files in one step, so that a crash part way through leaves
+ * either the old file or the new one. The new contents are written to a temporary file next to
+ * the target, forced to disk, and moved over the target, after which the directory is forced too
+ * so the move itself survives a crash.
+ * The temporary file is created with the default permissions, like any new file, and then given
+ * the permissions of the file it replaces, so saving never changes who can read the file.
+ */
+final class AtomicFiles {
+    // The number of names tried for a temporary file before giving up
+    private static final int TEMP_ATTEMPTS = 100;
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Writes file contents to a channel.
+     */
+    interface ChannelWriter {
+        void write(FileChannel channel) throws IOException;
+    }
+
+    /**
+     * Replaces a file with new contents in one step. The new file keeps the old one's permissions.
+     *
+     * @param file The file to replace
+     * @param body Writes the new contents to the temporary file's channel
+     * @throws IOException If an I/O error occurs
+     */
+    static void replace(Path file, ChannelWriter body) throws IOException {
+        replace(file, file, body);
+    }
+
+    /**
+     * Replaces a file with new contents in one step, giving it the permissions of another file.
+     * This is for files that are later moved over that other file, such as a pending snapshot.
+     *
+     * @param file The file to replace
+     * @param like The file whose permissions the new file takes, if it exists
+     * @param body Writes the new contents to the temporary file's channel
+     * @throws IOException If an I/O error occurs
+     */
+    static void replace(Path file, Path like, ChannelWriter body) throws IOException {
+        Path target = file.toAbsolutePath();
+        // Write to a temporary file in the same directory so that the move cannot cross file systems
+        Path temp = null;
+        try {
+            FileChannel channel = null;
+            for (int attempt = 0; channel == null; attempt++) {
+                temp = target.resolveSibling(target.getFileName() + "."
+                        + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+                try {
+                    // CREATE_NEW gives the default permissions instead of the owner-only ones of Files.createTempFile
+                    channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                } catch (FileAlreadyExistsException e) {
+                    temp = null;
+                    if (attempt == TEMP_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+            try (FileChannel writing = channel) {
+                body.write(writing);
+                // Make sure every byte is on disk before the file replaces the old one
+                writing.force(true);
+            }
+            copyPermissions(like, temp);
+            move(temp, target);
+        } finally {
+            // Clean up the temporary file if anything failed before it was moved
+            if (temp != null) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    /**
+     * Moves a file over another in one step where the file system allows it, then forces the
+     * directory so that the move is on disk as well.
+     *
+     * @param source The file to move
+     * @param target The file to replace
+     * @throws IOException If an I/O error occurs
+     */
+    static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        forceDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces a directory's entries to disk, so that files created, moved or deleted in it stay
+     * that way after a crash.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            // Some systems, such as Windows, cannot open a directory; their file systems keep
+            // renames on their own
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Gives a file the POSIX permissions of another, if both the other file and POSIX
+     * permissions exist.
+     */
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        PosixFileAttributeView source = Files.getFileAttributeView(from, PosixFileAttributeView.class);
+        if (source == null || !Files.exists(from)) {
+            return;
+        }
+        Files.setPosixFilePermissions(to, source.readAttributes().permissions());
+    }
+}
@@ -0,0 +1,1027 @@
+package linkedlists.history;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The BrowserHistory class manages a browsing history using a doubly linked list.
+ * It allows adding, removing, displaying, saving, and loading history records.
+ */
+public class BrowserHistory {
+    // The head or first history of the doubly linked list
+    private HistoryNode head;
+    
+    // The tail or last hitory of the doubly linked list
+    private HistoryNode tail;
+
+    // The file the history is saved to and loaded from by default
+    private final Path historyFile;
+
+    // The most pages kept, or 0 if the history is unbounded
+    private final int capacity;
+
+    // The page for each URL when the history is bounded, otherwise null
+    private final HashMap<String, HistoryNode> pagesByUrl;
+
+    // The number of pages in the history
+    private int size;
+
+    // The page the navigation cursor is on, or null before the first navigation
+    private HistoryNode current;
+
+    // The position of the cursor's page, counting from 0 at the head, kept up to date by every change
+    private int currentIndex;
+
+    // The order given to the next node linked at the end
+    private long nextOrder;
+
+    // The pages grouped by timestamp, or null until the history is first searched by time.
+    // Each group keeps its pages in history order, and since HistoryNode compares by identity,
+    // a page can be taken out of its group in O(1) time however many pages share its timestamp
+    private TreeMap<Long, Set<HistoryNode>> timeIndex;
+
+    // The journal each change is recorded in, or null if changes are only kept in memory
+    private HistoryJournal journal;
+
+    // When a change recorded in the journal is on disk
+    private Durability durability = Durability.SYNC;
+
+    // The listener told about each page added or removed, or null if there is none
+    private HistoryListener listener;
+
+    // The largest part of a file mapped into memory at once
+    private static final int MAPPED_WINDOW = 1 << 30;
+
+    // Marks a timestamp that could not be read while scanning a mapped file
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    /**
+     * When a change recorded in the journal is known to be on disk.
+     */
+    public enum Durability {
+        /**
+         * Each change waits until its record is on disk before returning. Changes made at the
+         * same time from different threads share one fsync, but a single caller pays one per change.
+         */
+        SYNC,
+        /**
+         * Each change returns once its record is appended, and the journal's thread writes and
+         * forces the records in batches. The changes are on disk once {@link #sync()},
+         * {@link #checkpoint()} or {@link #closeJournal()} returns; a crash before that can lose
+         * the latest changes, but never leaves a half-applied one.
+         */
+        DEFERRED
+    }
+
+    /**
+     * Constructs an empty BrowserHistory that is saved to and loaded from "History.txt".
+     */
+    public BrowserHistory() {
+        this(Paths.get("History.txt"));
+    }
+
+    /**
+     * Constructs an empty BrowserHistory that is saved to and loaded from the given file.
+     * 
+     * @param historyFile The file to save the history to and load it from
+     */
+    public BrowserHistory(Path historyFile) {
+        // Initialize head to null indicating that the list is empty when created
+        this.head = null; 
+        // Initialize tail to null indicating that the list is empty when created
+        this.tail = null; 
+        this.historyFile = historyFile;
+        this.capacity = 0;
+        this.pagesByUrl = null;
+    }
+
+    /**
+     * Constructs an empty BrowserHistory that keeps at most the given number of pages, like a
+     * least recently used cache. Each URL appears once: revisiting a page moves it to the end
+     * with the new timestamp, and when the history is full the oldest page is dropped.
+     * 
+     * @param historyFile The file to save the history to and load it from
+     * @param capacity The most pages to keep
+     * @throws IllegalArgumentException If the capacity is less than 1
+     */
+    public BrowserHistory(Path historyFile, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+        this.head = null;
+        this.tail = null;
+        this.historyFile = historyFile;
+        this.capacity = capacity;
+        this.pagesByUrl = new HashMap<>();
+    }
+
+    /**
+     * Adds a new page to the browsing history.
+     * 
+     * @param url The URL of the webpage
+     * @param timestamp The timestamp of when the webpage was visited, such as "10:00 PM"
+     * @throws IllegalArgumentException If the timestamp cannot be read
+     */
+    public void addPage(String url, String timestamp) {
+        addPage(url, HistoryTimestamps.parse(timestamp));
+    }
+
+    /**
+     * Adds a new page to the browsing history.
+     * 
+     * @param url The URL of the webpage
+     * @param timestamp The timestamp of when the webpage was visited, in milliseconds since the epoch
+     */
+    public void addPage(String url, long timestamp) {
+        // Record the change in the journal before making it
+        if (journal != null) {
+            try {
+                awaitJournal(journal.appendAdd(url, timestamp));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not record the page in the journal", e);
+            }
+        }
+        // Create a new history node with the given URL and timestamp and add it at the end
+        append(new HistoryNode(url, timestamp));
+    }
+
+    /**
+     * Adds a node at the end of the history. When the history is bounded, a revisited URL moves
+     * its existing node to the end instead, and the oldest page is dropped once the history is full.
+     * 
+     * @param newNode The node to add
+     */
+    private void append(HistoryNode newNode) {
+        if (pagesByUrl == null) {
+            linkLast(newNode);
+            return;
+        }
+        HistoryNode visited = pagesByUrl.get(newNode.getUrl());
+        if (visited != null) {
+            // Move the page to the end with the time of the new visit
+            removeFromTimeIndex(visited);
+            boolean cursorOnVisited = (visited == current);
+            unlink(visited);
+            visited.timestamp = newNode.timestamp;
+            linkLast(visited);
+            if (cursorOnVisited) {
+                // The cursor moves with its page
+                current = visited;
+                currentIndex = size - 1;
+            }
+            return;
+        }
+        pagesByUrl.put(newNode.getUrl(), newNode);
+        linkLast(newNode);
+        // Drop the least recently visited page once the history is over capacity
+        if (size > capacity) {
+            HistoryNode oldest = head;
+            removeFromTimeIndex(oldest);
+            unlink(oldest);
+            pagesByUrl.remove(oldest.getUrl());
+        }
+    }
+
+    /**
+     * Links a node at the end of the history.
+     * 
+     * @param newNode The node to add
+     */
+    private void linkLast(HistoryNode newNode) {
+        // If the list is empty, set both head and tail to the new node
+        if (head == null) { 
+            head = newNode;
+            tail = newNode;
+        } 
+        // Otherwise, link the current tail to the new node, link the new node back to the current tail, and update the tail to the new node
+        else {
+            tail.next = newNode;
+            newNode.prev = tail;
+            tail = newNode; 
+        }
+        newNode.order = nextOrder++;
+        size++;
+        if (listener != null) {
+            listener.pageAdded(newNode.getUrl(), newNode.timestamp);
+        }
+        // Keep the time index up to date once it has been built
+        if (timeIndex != null) {
+            timeIndex.computeIfAbsent(newNode.timestamp, t -> new LinkedHashSet<>(2)).add(newNode);
+        }
+    }
+
+    /**
+     * Unlinks a node from the history. The time index is left for the caller to update.
+     * A cursor on the node moves to the page before it, or to the page after it if it was the
+     * first, and a cursor after the node keeps its position up to date.
+     * 
+     * @param node The node to remove
+     */
+    private void unlink(HistoryNode node) {
+        if (current == node) {
+            if (node.prev != null) {
+                current = node.prev;
+                currentIndex--;
+            } else {
+                current = node.next;
+            }
+        } else if (current != null && node.order < current.order) {
+            currentIndex--;
+        }
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+        size--;
+        if (listener != null) {
+            listener.pageRemoved(node.getUrl(), node.timestamp);
+        }
+    }
+
+    /**
+     * Removes a node from the time index if it has been built. This takes O(log n) time to find
+     * the node's group and O(1) time to take the node out of it.
+     * 
+     * @param node The node to remove
+     */
+    private void removeFromTimeIndex(HistoryNode node) {
+        if (timeIndex == null) {
+            return;
+        }
+        Set<HistoryNode> bucket = timeIndex.get(node.timestamp);
+        bucket.remove(node);
+        if (bucket.isEmpty()) {
+            timeIndex.remove(node.timestamp);
+        }
+    }
+
+    /**
+     * Checks whether a URL is in the history. This takes O(1) time when the history is bounded
+     * and O(n) time otherwise.
+     * 
+     * @param url The URL to look for
+     * @return True if a page with the URL is in the history
+     */
+    public boolean hasVisited(String url) {
+        if (pagesByUrl != null) {
+            return pagesByUrl.containsKey(url);
+        }
+        for (HistoryNode current = head; current != null; current = current.next) {
+            if (current.getUrl().equals(url)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of pages in the history.
+     * 
+     * @return The number of pages
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes pages from the browsing history based on the timestamp.
+     * 
+     * @param timestamp The timestamp of the pages to remove, such as "10:00 PM"
+     * @return The number of pages removed
+     * @throws IllegalArgumentException If the timestamp cannot be read
+     */
+    public int removePage(String timestamp) {
+        long time = HistoryTimestamps.parse(timestamp);
+        // Condition to check if the list is empty
+        if (head == null) {
+            return 0;
+        }
+        return removeRange(time, time);
+    }
+
+    /**
+     * Removes every page visited between two timestamps, inclusive. The pages are found through
+     * the time index, so this takes O(log n + k) time for k pages removed.
+     * 
+     * @param from The first timestamp to remove, in milliseconds since the epoch
+     * @param to The last timestamp to remove, in milliseconds since the epoch
+     * @return The number of pages removed
+     */
+    public int removeRange(long from, long to) {
+        if (from > to) {
+            return 0;
+        }
+        SortedMap<Long, Set<HistoryNode>> range = timeIndex().subMap(from, true, to, true);
+        if (range.isEmpty()) {
+            return 0;
+        }
+        // Record the change in the journal before making it, once it is known that something is removed
+        if (journal != null) {
+            try {
+                awaitJournal(journal.appendRemove(from, to));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not record the removal in the journal", e);
+            }
+        }
+        int removed = 0;
+        for (Set<HistoryNode> bucket : range.values()) {
+            for (HistoryNode node : bucket) {
+                // A cursor on a removed page steps to a neighbour, see unlink
+                unlink(node);
+                if (pagesByUrl != null) {
+                    pagesByUrl.remove(node.getUrl());
+                }
+                removed++;
+            }
+        }
+        // Drop the whole range from the index at once
+        range.clear();
+        return removed;
+    }
+
+    /**
+     * Displays the pages visited between two timestamps, inclusive, in time order. The pages are
+     * found through the time index, so this takes O(log n + k) time for k pages shown.
+     * 
+     * @param from The first timestamp to show, in milliseconds since the epoch
+     * @param to The last timestamp to show, in milliseconds since the epoch
+     */
+    public void displayRange(long from, long to) {
+        SortedMap<Long, Set<HistoryNode>> range = (from > to) ? null : timeIndex().subMap(from, true, to, true);
+        // Condition to check if nothing was visited in the range
+        if (range == null || range.isEmpty()) {
+            System.out.println("No pages found between " + HistoryTimestamps.format(from) + " and " + HistoryTimestamps.format(to) + ".");
+            return;
+        }
+        System.out.println("Browser History from " + HistoryTimestamps.format(from) + " to " + HistoryTimestamps.format(to) + ":");
+        for (Set<HistoryNode> bucket : range.values()) {
+            for (HistoryNode node : bucket) {
+                // Print the timestamp and URL of the node
+                System.out.println(HistoryTimestamps.format(node.getTimestamp()) + ": " + node.getUrl());
+            }
+        }
+    }
+
+    /**
+     * Gets the time index, building it from the list the first time it is needed. Loads do not
+     * pay for the index unless the history is searched by time.
+     * 
+     * @return The pages grouped by timestamp, each group in history order
+     */
+    private NavigableMap<Long, Set<HistoryNode>> timeIndex() {
+        if (timeIndex == null) {
+            timeIndex = new TreeMap<>();
+            for (HistoryNode node = head; node != null; node = node.next) {
+                timeIndex.computeIfAbsent(node.timestamp, t -> new LinkedHashSet<>(2)).add(node);
+            }
+        }
+        return timeIndex;
+    }
+
+    /**
+     * Visits a page the way a browser does: the page is added after the one the navigation
+     * cursor is on, any pages that were ahead of the cursor are dropped, and the cursor moves to
+     * the new page. The dropped pages are cut off as a whole rather than unlinked one by one.
+     * 
+     * @param url The URL of the webpage
+     * @param timestamp The timestamp of the visit, in milliseconds since the epoch
+     */
+    public void visit(String url, long timestamp) {
+        if (current != null && current != tail) {
+            int index = currentIndex;
+            // Record the change in the journal before making it; the added page's record below waits for both
+            if (journal != null) {
+                try {
+                    journal.appendTruncate(index + 1);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not record the visit in the journal", e);
+                }
+            }
+            truncateAfter(current, index);
+        }
+        addPage(url, timestamp);
+        current = tail;
+        currentIndex = size - 1;
+    }
+
+    /**
+     * Moves the navigation cursor back through the history, stopping at the first page.
+     * 
+     * @param steps The number of pages to go back
+     * @return The URL of the page now under the cursor, or null if the history is empty
+     */
+    public String back(int steps) {
+        if (startCursor()) {
+            while (steps > 0 && current.prev != null) {
+                current = current.prev;
+                currentIndex--;
+                steps--;
+            }
+        }
+        return getCurrentPage();
+    }
+
+    /**
+     * Moves the navigation cursor forward through the history, stopping at the last page.
+     * 
+     * @param steps The number of pages to go forward
+     * @return The URL of the page now under the cursor, or null if the history is empty
+     */
+    public String forward(int steps) {
+        if (startCursor()) {
+            while (steps > 0 && current.next != null) {
+                current = current.next;
+                currentIndex++;
+                steps--;
+            }
+        }
+        return getCurrentPage();
+    }
+
+    /**
+     * Gets the page the navigation cursor is on. Before the first navigation this is the last page.
+     * 
+     * @return The URL of the current page, or null if the history is empty
+     */
+    public String getCurrentPage() {
+        HistoryNode page = (current != null) ? current : tail;
+        return (page == null) ? null : page.getUrl();
+    }
+
+    /**
+     * Puts the navigation cursor on the last page if it has not been placed yet.
+     * 
+     * @return False if the history is empty
+     */
+    private boolean startCursor() {
+        if (current == null) {
+            if (tail == null) {
+                return false;
+            }
+            current = tail;
+            currentIndex = size - 1;
+        }
+        return true;
+    }
+
+    /**
+     * Drops every page after the given one by cutting the list, without unlinking the pages one
+     * by one. This takes O(1) time, plus O(k) time for k dropped pages when the time index has
+     * been built, the history is bounded or a listener is set, to take those pages out of the
+     * index or the URL map and report them.
+     * 
+     * @param last The last page to keep, or null to drop every page
+     * @param index The position of that page, counting from 0 at the head, or -1 if it is null
+     */
+    private void truncateAfter(HistoryNode last, int index) {
+        HistoryNode dropped = (last == null) ? head : last.next;
+        if (dropped == null) {
+            return;
+        }
+        // A cursor on a dropped page moves to the new last page
+        boolean cursorDropped = current != null && current.order >= dropped.order;
+        // Take the dropped pages out of the time index and, when the history is bounded, the URL map
+        if (timeIndex != null || pagesByUrl != null || listener != null) {
+            for (HistoryNode node = dropped; node != null; node = node.next) {
+                removeFromTimeIndex(node);
+                if (pagesByUrl != null) {
+                    pagesByUrl.remove(node.getUrl());
+                }
+                if (listener != null) {
+                    listener.pageRemoved(node.getUrl(), node.timestamp);
+                }
+            }
+        }
+        dropped.prev = null;
+        if (last == null) {
+            head = null;
+        } else {
+            last.next = null;
+        }
+        tail = last;
+        size = index + 1;
+        if (cursorDropped) {
+            current = last;
+            currentIndex = index;
+        }
+    }
+
+    /**
+     * Finds the page at a position that is known to be in bounds.
+     * 
+     * @param index The position, counting from 0 at the head
+     * @return The page at the position
+     */
+    private HistoryNode nodeAt(int index) {
+        HistoryNode node = head;
+        for (int i = 0; i < index; i++) {
+            node = node.next;
+        }
+        return node;
+    }
+
+    /**
+     * Displays the browsing history from the beginning to the end.
+     */
+    public void displayHistoryForward() {
+        // Condition to check if the list is empty
+        if (head == null) {
+            System.out.println("Browsing history is empty.");
+            return;
+        } 
+        // Set current to head to start printing from the head
+        HistoryNode current = head;
+        System.out.println("Browser History Forwards:");
+        while (current != null) {
+            // Print the timestamp and URL of the current node
+            System.out.println(HistoryTimestamps.format(current.getTimestamp()) + ": " + current.getUrl());
+            current = current.next;
+        }
+        if (current == null){
+            System.out.println("There are no more histories to show.");
+        }
+    }
+
+    /**
+     * Displays the browsing history from the end to the beginning.
+     */
+    public void displayHistoryBackward() {
+        // Condition to check if the list is empty
+        if (tail == null) { 
+            System.out.println("Browsing history is empty.");
+            return;
+        }
+        // Set current to tail to start printing from the tail
+        HistoryNode current = tail; 
+        System.out.println("Browser History Backwards:");
+        while (current != null) {
+            // Print the timestamp and URL of the current node
+            System.out.println(HistoryTimestamps.format(current.getTimestamp()) + ": " + current.getUrl()); 
+            current = current.prev; 
+        }
+        if (current == null){
+            System.out.println("There are no more histories to show.");
+        }
+    }
+
+    /**
+     * Saves the browsing history to the history file.
+     * 
+     * @return True if the history was saved, false if it is empty and there was nothing to save
+     * @throws IOException If an I/O error occurs
+     */
+    public boolean saveHistoryToFile() throws IOException {
+        return saveHistoryToFile(historyFile);
+    }
+
+    /**
+     * Saves the browsing history to the given file as text, one "URL,timestamp" line per page.
+     * The history is streamed through a buffer into a temporary file next to the target, forced
+     * to disk, and then moved over the target in one step, so a crash part way through leaves the
+     * old file intact.
+     * 
+     * @param file The file to save to
+     * @return True if the history was saved, false if it is empty and there was nothing to save
+     * @throws IOException If an I/O error occurs
+     */
+    public boolean saveHistoryToFile(Path file) throws IOException {
+        // Condition to check if the list is empty
+        if (head == null) {
+            return false;
+        }
+        writeText(file, file);
+        return true;
+    }
+
+    /**
+     * Writes the history to a file as text, replacing the file in one step. An empty history
+     * gives an empty file.
+     * 
+     * @param file The file to write
+     * @param like The file whose permissions the written file takes, if it exists
+     * @throws IOException If an I/O error occurs
+     */
+    private void writeText(Path file, Path like) throws IOException {
+        AtomicFiles.replace(file, like, channel -> {
+            BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 1 << 16);
+            // Set current to head to start writing from the head
+            HistoryNode current = head;
+            while (current != null) {
+                // Write the URL and timestamp of the current node to the file
+                writer.write(current.getUrl());
+                writer.write(',');
+                writer.write(HistoryTimestamps.format(current.getTimestamp()));
+                writer.write('\n');
+                current = current.next; 
+            }
+            writer.flush();
+        });
+    }
+
+    /**
+     * Opens a history kept as a snapshot and a journal of the changes made since. The snapshot is
+     * loaded, the journal's records are replayed on top of it, and later changes are recorded
+     * in the journal. A record cut short by a crash is dropped.
+     * 
+     * @param snapshot    The text file holding the history as of the last checkpoint
+     * @param journalFile The journal of changes since the last checkpoint
+     * @return The recovered history
+     * @throws IOException If an I/O error occurs or the journal does not match the snapshot
+     */
+    public static BrowserHistory recover(Path snapshot, Path journalFile) throws IOException {
+        return recover(new BrowserHistory(snapshot), snapshot, journalFile);
+    }
+
+    /**
+     * Opens a bounded history kept as a snapshot and a journal of the changes made since, like
+     * {@link #recover(Path, Path)}. The snapshot and the journal are replayed into a history that
+     * keeps at most the given number of pages, so it ends up as it was before it was closed.
+     * 
+     * @param snapshot    The text file holding the history as of the last checkpoint
+     * @param journalFile The journal of changes since the last checkpoint
+     * @param capacity    The most pages to keep
+     * @return The recovered history
+     * @throws IOException If an I/O error occurs or the journal does not match the snapshot
+     * @throws IllegalArgumentException If the capacity is less than 1
+     */
+    public static BrowserHistory recover(Path snapshot, Path journalFile, int capacity) throws IOException {
+        return recover(new BrowserHistory(snapshot, capacity), snapshot, journalFile);
+    }
+
+    /**
+     * Loads the snapshot and replays the journal into an empty history, then starts recording
+     * its changes in the journal.
+     * 
+     * @param history     The empty history to recover into
+     * @param snapshot    The text file holding the history as of the last checkpoint
+     * @param journalFile The journal of changes since the last checkpoint
+     * @return The recovered history
+     * @throws IOException If an I/O error occurs
+     */
+    private static BrowserHistory recover(BrowserHistory history, Path snapshot, Path journalFile) throws IOException {
+        // Finish or undo a checkpoint that was cut short; see checkpoint()
+        Path pending = pendingSnapshot(snapshot);
+        if (Files.exists(pending)) {
+            if (!Files.exists(journalFile) || Files.size(journalFile) == 0) {
+                AtomicFiles.move(pending, snapshot);
+            } else {
+                Files.delete(pending);
+            }
+        }
+        if (Files.exists(snapshot)) {
+            history.loadHistoryFromFile(snapshot);
+        }
+        history.journal = HistoryJournal.open(journalFile, new HistoryJournal.Replayer() {
+            @Override
+            public void add(String url, long timestamp) {
+                history.append(new HistoryNode(url, timestamp));
+            }
+
+            @Override
+            public void remove(long from, long to) {
+                history.removeRange(from, to);
+            }
+
+            @Override
+            public void truncate(int size) throws IOException {
+                // A journal left from another snapshot can name more pages than were loaded
+                if (size < 0 || size > history.size()) {
+                    throw new IOException("journal does not match snapshot");
+                }
+                history.truncateAfter(size == 0 ? null : history.nodeAt(size - 1), size - 1);
+            }
+        });
+        return history;
+    }
+
+    /**
+     * Writes the whole history to the snapshot file and empties the journal, so that recovery
+     * does not have to replay a long journal. The snapshot is written to a pending file first and
+     * the journal emptied before the pending file replaces the snapshot. A crash before the journal
+     * is emptied leaves the old snapshot and the full journal; a crash after it leaves the pending
+     * file, which recovery then moves into place.
+     * 
+     * @throws IOException If an I/O error occurs
+     * @throws IllegalStateException If the history has no journal
+     */
+    public void checkpoint() throws IOException {
+        if (journal == null) {
+            throw new IllegalStateException("Browsing history has no journal");
+        }
+        Path pending = pendingSnapshot(historyFile);
+        writeText(pending, historyFile);
+        journal.reset();
+        AtomicFiles.move(pending, historyFile);
+    }
+
+    /**
+     * Sets the listener told about each page added to or removed from the history.
+     * 
+     * @param listener The listener, or null to stop telling anyone
+     */
+    public void setListener(HistoryListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets when a change recorded in the journal is known to be on disk. With
+     * {@link Durability#DEFERRED}, a batch of changes can be made without waiting for each, and
+     * then made durable together by calling {@link #sync()} once.
+     * 
+     * @param durability When a change is on disk
+     */
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    /**
+     * Waits until every change recorded in the journal so far is on disk. Does nothing if the
+     * history has no journal.
+     * 
+     * @throws IOException If writing the journal failed or the wait was interrupted
+     */
+    public void sync() throws IOException {
+        if (journal != null) {
+            journal.sync();
+        }
+    }
+
+    /**
+     * Waits for a journal record to be on disk if every change is meant to be durable on return.
+     * 
+     * @param sequence The sequence number of the record
+     * @throws IOException If writing the journal failed or the wait was interrupted
+     */
+    private void awaitJournal(long sequence) throws IOException {
+        if (durability == Durability.SYNC) {
+            journal.awaitDurable(sequence);
+        }
+    }
+
+    /**
+     * Closes the journal after writing any changes still waiting. Later changes are only kept in memory.
+     * 
+     * @throws IOException If the remaining changes could not be written
+     */
+    public void closeJournal() throws IOException {
+        if (journal != null) {
+            HistoryJournal closing = journal;
+            journal = null;
+            closing.close();
+        }
+    }
+
+    /**
+     * Gets the file a checkpoint writes before it replaces the snapshot.
+     */
+    private static Path pendingSnapshot(Path snapshot) {
+        Path target = snapshot.toAbsolutePath();
+        return target.resolveSibling(target.getFileName() + ".pending");
+    }
+
+    /**
+     * Saves the browsing history to the given file in the compact binary format described in
+     * {@link HistoryBinaryFormat}. Like the text save, the file is replaced in one step.
+     * 
+     * @param file The file to save to
+     * @return True if the history was saved, false if it is empty and there was nothing to save
+     * @throws IOException If an I/O error occurs
+     */
+    public boolean saveHistoryToBinaryFile(Path file) throws IOException {
+        // Condition to check if the list is empty
+        if (head == null) {
+            return false;
+        }
+        AtomicFiles.replace(file, channel -> {
+            BufferedOutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            HistoryBinaryFormat.write(head, out);
+            out.flush();
+        });
+        return true;
+    }
+
+    /**
+     * Loads browsing history saved in the binary format, adding its entries after the current ones.
+     * Blocks that fail their checksum are skipped and their entries counted as skipped.
+     * 
+     * @param file The file to load from
+     * @return How many entries were loaded and skipped
+     * @throws IOException If an I/O error occurs, the file is not a binary history, or a block
+     *                     header is damaged
+     */
+    public LoadReport loadHistoryFromBinaryFile(Path file) throws IOException {
+        long[] loaded = { 0 };
+        long skipped;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            skipped = HistoryBinaryFormat.read(in, Files.size(file), (url, timestamp) -> {
+                append(new HistoryNode(url, timestamp));
+                loaded[0]++;
+            });
+        }
+        return new LoadReport(loaded[0], skipped);
+    }
+
+    /**
+     * Loads the browsing history from the history file.
+     * 
+     * @return How many entries were loaded and skipped
+     * @throws IOException If an I/O error occurs
+     */
+    public LoadReport loadHistoryFromFile() throws IOException {
+        return loadHistoryFromFile(historyFile);
+    }
+
+    /**
+     * Loads the browsing history from the given file, adding its entries after the current ones.
+     * The file is read once, each line is split at its last comma, and the entries are linked
+     * straight into the list. Lines without a URL and a readable timestamp are skipped and
+     * counted instead of failing the load.
+     * 
+     * @param file The file to load from
+     * @return How many entries were loaded and skipped
+     * @throws IOException If an I/O error occurs
+     */
+    public LoadReport loadHistoryFromFile(Path file) throws IOException {
+        return readText(file, (url, timestamp) -> append(new HistoryNode(url, timestamp)));
+    }
+
+    /**
+     * Reads a history saved as text, passing each entry to the sink in order. Each line is split
+     * at its last comma, and lines without a URL and a readable timestamp are skipped and counted.
+     * 
+     * @param file The file to read
+     * @param sink The receiver of the entries
+     * @return How many entries were read and skipped
+     * @throws IOException If an I/O error occurs
+     */
+    static LoadReport readText(Path file, HistoryBinaryFormat.EntrySink sink) throws IOException {
+        long loaded = 0;
+        long skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                // Blank lines, such as a trailing one, are not entries
+                if (line.isEmpty()) {
+                    continue;
+                }
+                // Split the line into URL and timestamp; URLs may contain commas but timestamps do not
+                int comma = line.lastIndexOf(',');
+                if (comma <= 0 || comma == line.length() - 1) {
+                    skipped++;
+                    continue;
+                }
+                long timestamp;
+                try {
+                    timestamp = HistoryTimestamps.parse(line.substring(comma + 1));
+                } catch (IllegalArgumentException e) {
+                    // The timestamp is not a time or date
+                    skipped++;
+                    continue;
+                }
+                sink.accept(line.substring(0, comma), timestamp);
+                loaded++;
+            }
+        }
+        return new LoadReport(loaded, skipped);
+    }
+
+    /**
+     * Loads the browsing history from the given file by mapping it into memory instead of reading it.
+     * The mapping is scanned for line breaks and commas without building a string for each line.
+     * Each timestamp is parsed as its line is read, and each entry keeps a copy of its URL's bytes,
+     * which are decoded the first time the URL is needed. A bounded history needs every URL at once
+     * to find repeated pages, so there the URLs are decoded as they are loaded. No entry keeps the
+     * mapping, so the windows are released once the load is done.
+     * 
+     * @param file The file to load from
+     * @return How many entries were loaded and skipped
+     * @throws IOException If an I/O error occurs
+     */
+    public LoadReport loadHistoryFromMappedFile(Path file) throws IOException {
+        long loaded = 0;
+        long skipped = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            // A single mapping is limited to 2 GB, so map the file in windows that end on a line break
+            while (position < size) {
+                long length = Math.min(MAPPED_WINDOW, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+                if (position + length < size) {
+                    while (end > 0 && window.get(end - 1) != '\n') {
+                        end--;
+                    }
+                    if (end == 0) {
+                        throw new IOException("A line in " + file + " is longer than " + MAPPED_WINDOW + " bytes");
+                    }
+                }
+                int lineStart = 0;
+                int lastComma = -1;
+                for (int i = 0; i <= end; i++) {
+                    byte b = (i < end) ? window.get(i) : (byte) '\n';
+                    if (b == ',') {
+                        lastComma = i;
+                    } else if (b == '\n') {
+                        // Leave out the carriage return of Windows line endings
+                        int lineEnd = (i > lineStart && window.get(i - 1) == '\r') ? i - 1 : i;
+                        if (lineEnd > lineStart) {
+                            // Split at the last comma, since URLs may contain commas but timestamps do not
+                            long timestamp = (lastComma <= lineStart || lastComma >= lineEnd - 1)
+                                    ? NO_TIMESTAMP : parseMapped(window, lastComma + 1, lineEnd);
+                            if (timestamp == NO_TIMESTAMP) {
+                                skipped++;
+                            } else {
+                                byte[] url = new byte[lastComma - lineStart];
+                                window.get(lineStart, url);
+                                append(new MappedHistoryNode(url, timestamp));
+                                loaded++;
+                            }
+                        }
+                        lineStart = i + 1;
+                        lastComma = -1;
+                    }
+                }
+                position += end;
+            }
+        }
+        return new LoadReport(loaded, skipped);
+    }
+
+    /**
+     * Reads the timestamp between the given offsets of a mapping.
+     * 
+     * @return The timestamp in milliseconds since the epoch, or NO_TIMESTAMP if it cannot be read
+     */
+    private static long parseMapped(ByteBuffer mapping, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        mapping.get(from, bytes);
+        try {
+            return HistoryTimestamps.parse(new String(bytes, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return NO_TIMESTAMP;
+        }
+    }
+
+    /**
+     * The LoadReport class tells how many entries a load added and how many lines it skipped.
+     */
+    public static final class LoadReport {
+        // The number of entries added to the history
+        private final long loaded;
+        // The number of lines that could not be read as an entry
+        private final long skipped;
+
+        LoadReport(long loaded, long skipped) {
+            this.loaded = loaded;
+            this.skipped = skipped;
+        }
+
+        /**
+         * Gets the number of entries added to the history.
+         * 
+         * @return The number of entries loaded
+         */
+        public long getLoaded() {
+            return loaded;
+        }
+
+        /**
+         * Gets the number of lines that were skipped because they were malformed.
+         * 
+         * @return The number of lines skipped
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+    }
+
+}
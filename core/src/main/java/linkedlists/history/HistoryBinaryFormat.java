@@ -0,0 +1,235 @@
+package linkedlists.history;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The HistoryBinaryFormat class reads and writes browsing history in a compact binary format.
+ *
+ * <p>A file starts with the magic bytes "LLHB" and a version byte, followed by blocks of up to
+ * {@link #BLOCK_ENTRIES} entries. Each block is written as its entry count, its payload length,
+ * a CRC-32 of the count and length, the payload, and a CRC-32 of the count, length and payload.
+ * The header's own checksum lets a reader trust the length before using it to find the next
+ * block, so a damaged header is told apart from a block cut short at the end of the file.
+ * The payload holds the block's URL
+ * dictionary (each distinct URL once, as a length and UTF-8 bytes) followed by one record per
+ * entry: the URL's dictionary index and the difference from the previous timestamp in epoch
+ * milliseconds, both as varints. Every block starts from timestamp 0 with its own dictionary, so blocks decode
+ * independently and a damaged block costs only its own entries.
+ */
+final class HistoryBinaryFormat {
+    // The bytes "LLHB" that start every file
+    static final int MAGIC = 0x4C4C4842;
+    // The version of the format written by this class
+    static final byte VERSION = 2;
+    // The bytes of a block header: entry count, payload length and their checksum
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    // The most entries written to one block
+    static final int BLOCK_ENTRIES = 65536;
+
+    /**
+     * Receives the entries read from a file.
+     */
+    interface EntrySink {
+        void accept(String url, long timestamp);
+    }
+
+    private HistoryBinaryFormat() {
+    }
+
+    /**
+     * Writes the history linked from the given head.
+     *
+     * @param head The first node of the history, or null for an empty history
+     * @param out  The stream to write to, which is not closed
+     * @throws IOException If an I/O error occurs
+     */
+    static void write(HistoryNode head, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+
+        // Buffers reused by every block
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        Map<String, Integer> ids = new HashMap<>();
+        List<byte[]> dictionary = new ArrayList<>();
+        CRC32 crc = new CRC32();
+
+        HistoryNode current = head;
+        while (current != null) {
+            entries.reset();
+            payload.reset();
+            ids.clear();
+            dictionary.clear();
+            int count = 0;
+            long previous = 0;
+            // Encode up to one block of entries, interning each URL into the block's dictionary
+            while (current != null && count < BLOCK_ENTRIES) {
+                String url = current.getUrl();
+                Integer id = ids.get(url);
+                if (id == null) {
+                    id = dictionary.size();
+                    ids.put(url, id);
+                    dictionary.add(url.getBytes(StandardCharsets.UTF_8));
+                }
+                long timestamp = current.getTimestamp();
+                writeVarint(entries, id);
+                writeVarint(entries, zigZag(timestamp - previous));
+                previous = timestamp;
+                count++;
+                current = current.next;
+            }
+            writeVarint(payload, dictionary.size());
+            for (byte[] url : dictionary) {
+                writeVarint(payload, url.length);
+                payload.write(url);
+            }
+            entries.writeTo(payload);
+
+            byte[] bytes = payload.toByteArray();
+            ByteBuffer header = ByteBuffer.allocate(2 * Integer.BYTES).putInt(count).putInt(bytes.length);
+            crc.reset();
+            crc.update(header.flip());
+            data.writeInt(count);
+            data.writeInt(bytes.length);
+            data.writeInt((int) crc.getValue());
+            // The block checksum carries on from the header's, so it covers the count and length too
+            crc.update(bytes);
+            data.write(bytes);
+            data.writeInt((int) crc.getValue());
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a history, passing each entry to the sink in order. Blocks whose checksum does not
+     * match are skipped, and a block cut short at the end of the file ends the read.
+     *
+     * @param in   The stream to read from, which is not closed
+     * @param size The number of bytes in the stream, which bounds how long a block can be
+     * @param sink The receiver of the entries
+     * @return The number of entries lost to damaged or incomplete blocks
+     * @throws IOException If an I/O error occurs, the stream is not a history in this format,
+     *                     or a block header is damaged so that later blocks cannot be found
+     */
+    static long read(InputStream in, long size, EntrySink sink) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a binary history file");
+        }
+        byte version = data.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary history version " + version);
+        }
+
+        long lost = 0;
+        // Bytes read so far: the magic bytes and the version
+        long position = Integer.BYTES + 1;
+        CRC32 crc = new CRC32();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position < size) {
+            if (size - position < HEADER_BYTES) {
+                // The header of the last block was only partly written; its count cannot be trusted
+                return lost;
+            }
+            data.readFully(header.array());
+            position += HEADER_BYTES;
+            int count = header.getInt(0);
+            int length = header.getInt(Integer.BYTES);
+            crc.reset();
+            crc.update(header.array(), 0, 2 * Integer.BYTES);
+            if ((int) crc.getValue() != header.getInt(2 * Integer.BYTES)
+                    || count < 0 || count > BLOCK_ENTRIES || length < 0) {
+                throw new IOException("Corrupt binary history block header");
+            }
+            // The header is intact, so a block running past the end can only be the last one cut short
+            if (length + (long) Integer.BYTES > size - position) {
+                return lost + count;
+            }
+            byte[] bytes = new byte[length];
+            data.readFully(bytes);
+            int checksum = data.readInt();
+            position += length + Integer.BYTES;
+            crc.update(bytes);
+            if ((int) crc.getValue() != checksum || !decodeBlock(ByteBuffer.wrap(bytes), count, sink)) {
+                lost += count;
+            }
+        }
+        return lost;
+    }
+
+    /**
+     * Decodes one block whose checksum matched.
+     *
+     * @return False if the block does not hold what its header promised
+     */
+    private static boolean decodeBlock(ByteBuffer payload, int count, EntrySink sink) {
+        try {
+            int dictionarySize = (int) readVarint(payload);
+            String[] urls = new String[dictionarySize];
+            for (int i = 0; i < dictionarySize; i++) {
+                byte[] url = new byte[(int) readVarint(payload)];
+                payload.get(url);
+                urls[i] = new String(url, StandardCharsets.UTF_8);
+            }
+            // Decode every record before handing any on, so a bad block adds nothing
+            String[] blockUrls = new String[count];
+            long[] timestamps = new long[count];
+            long timestamp = 0;
+            for (int i = 0; i < count; i++) {
+                blockUrls[i] = urls[(int) readVarint(payload)];
+                timestamp += unZigZag(readVarint(payload));
+                timestamps[i] = timestamp;
+            }
+            for (int i = 0; i < count; i++) {
+                sink.accept(blockUrls[i], timestamps[i]);
+            }
+            return true;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            return false;
+        }
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        // Seven bits per byte, low bits first, with the high bit set on every byte but the last
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IndexOutOfBoundsException("Varint too long");
+    }
+
+    // Maps signed deltas to unsigned values so that small negative deltas stay small
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,407 @@
+package linkedlists.history;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The HistoryJournal class is an append-only log of changes to a browsing history.
+ * Each added or removed page is one small record, so recording a change costs O(1) I/O no matter
+ * how large the history is. Records are written and forced to disk by a background thread in
+ * batches, so callers waiting at the same time share one fsync (group commit).
+ *
+ * <p>Each record is written as the length of its body, the body (a type byte followed by the
+ * record's fields) and a CRC-32 of the body. An added page is its URL, as a length and UTF-8
+ * bytes, and its timestamp; a removal is the first and last timestamp of the range removed;
+ * a truncation is the number of pages kept. A record cut short by a crash fails
+ * its length or checksum check, and the log is truncated back to the last whole record when
+ * it is opened.
+ */
+public final class HistoryJournal implements AutoCloseable {
+    // Record type for a page added to the end of the history
+    private static final byte ADD = 1;
+    // Record type for the pages in a time range being removed
+    private static final byte REMOVE = 2;
+    // Record type for the pages after a position being dropped
+    private static final byte TRUNCATE = 3;
+    // Bytes in the length and checksum around each record body
+    private static final int FRAME_BYTES = 2 * Integer.BYTES;
+
+    /**
+     * Receives the changes read back from a journal.
+     */
+    public interface Replayer {
+        /**
+         * Called for each page added.
+         *
+         * @param url       The URL of the page
+         * @param timestamp The timestamp of the visit, in milliseconds since the epoch
+         */
+        void add(String url, long timestamp);
+
+        /**
+         * Called for each removal of the pages visited in a time range.
+         *
+         * @param from The first timestamp removed, in milliseconds since the epoch
+         * @param to   The last timestamp removed, in milliseconds since the epoch
+         */
+        void remove(long from, long to);
+
+        /**
+         * Called for each truncation of the history to its first pages.
+         *
+         * @param size The number of pages kept
+         * @throws IOException If the history does not have that many pages
+         */
+        void truncate(int size) throws IOException;
+    }
+
+    private final Path file;
+    private FileChannel channel;
+    // Records appended but not yet handed to the flusher
+    private ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+    // The buffer the flusher writes from, swapped with pending for each batch
+    private ByteBuffer writing = ByteBuffer.allocate(1 << 16);
+    // Sequence number of the last record appended
+    private long appended;
+    // Sequence number of the last record forced to disk
+    private long durable;
+    // Whether the flusher is writing a batch outside the lock
+    private boolean flushing;
+    // The error that stopped the flusher, if any
+    private IOException failure;
+    private boolean closed;
+    private final Thread flusher;
+    private final CRC32 crc = new CRC32();
+
+    private HistoryJournal(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+        this.flusher = new Thread(this::flushLoop, "history-journal-" + file.getFileName());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Opens a journal, creating it if it does not exist. The records already in it are passed to
+     * the replayer in order, and anything after the last whole record is cut off.
+     *
+     * @param file     The journal file
+     * @param replayer The receiver of the records already in the journal
+     * @return The journal, ready for new records to be appended
+     * @throws IOException If an I/O error occurs
+     */
+    public static HistoryJournal open(Path file, Replayer replayer) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            long valid = replay(channel, replayer);
+            // Drop a record that was only partly written when the program stopped
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+                channel.force(true);
+            }
+            channel.position(valid);
+            return new HistoryJournal(file, channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a record of a page being added. The record is on disk once
+     * {@link #awaitDurable(long)} returns for the sequence number.
+     *
+     * @param url       The URL of the page
+     * @param timestamp The timestamp of the visit, in milliseconds since the epoch
+     * @return The sequence number of the record
+     * @throws IOException If the journal has failed or is closed
+     */
+    public synchronized long appendAdd(String url, long timestamp) throws IOException {
+        checkUsable();
+        byte[] bytes = url.getBytes(StandardCharsets.UTF_8);
+        int bodyStart = beginRecord(1 + Integer.BYTES + bytes.length + Long.BYTES);
+        pending.put(ADD);
+        pending.putInt(bytes.length);
+        pending.put(bytes);
+        pending.putLong(timestamp);
+        return endRecord(bodyStart);
+    }
+
+    /**
+     * Appends a record of the pages visited in a time range being removed. The record is on disk
+     * once {@link #awaitDurable(long)} returns for the sequence number.
+     *
+     * @param from The first timestamp removed, in milliseconds since the epoch
+     * @param to   The last timestamp removed, in milliseconds since the epoch
+     * @return The sequence number of the record
+     * @throws IOException If the journal has failed or is closed
+     */
+    public synchronized long appendRemove(long from, long to) throws IOException {
+        checkUsable();
+        int bodyStart = beginRecord(1 + 2 * Long.BYTES);
+        pending.put(REMOVE);
+        pending.putLong(from);
+        pending.putLong(to);
+        return endRecord(bodyStart);
+    }
+
+    /**
+     * Appends a record of every page after the first few being dropped. The record is on disk
+     * once {@link #awaitDurable(long)} returns for the sequence number.
+     *
+     * @param size The number of pages kept
+     * @return The sequence number of the record
+     * @throws IOException If the journal has failed or is closed
+     */
+    public synchronized long appendTruncate(int size) throws IOException {
+        checkUsable();
+        int bodyStart = beginRecord(1 + Integer.BYTES);
+        pending.put(TRUNCATE);
+        pending.putInt(size);
+        return endRecord(bodyStart);
+    }
+
+    /**
+     * Waits until the record with the given sequence number, and every record before it, is on disk.
+     *
+     * @param sequence The sequence number returned when the record was appended
+     * @throws IOException If writing the journal failed or the wait was interrupted
+     */
+    public synchronized void awaitDurable(long sequence) throws IOException {
+        while (durable < sequence) {
+            checkUsable();
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the history journal");
+            }
+        }
+    }
+
+    /**
+     * Waits until every record appended so far is on disk. Appending many records and then
+     * calling this once lets the whole batch share the flusher's fsyncs.
+     *
+     * @throws IOException If writing the journal failed or the wait was interrupted
+     */
+    public synchronized void sync() throws IOException {
+        awaitDurable(appended);
+    }
+
+    /**
+     * Empties the journal once its changes are safely in a snapshot. The file is replaced by an
+     * empty one in a single step, so a crash leaves either the old journal or the empty one.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    public synchronized void reset() throws IOException {
+        // Wait for the flusher to finish with every record already appended
+        awaitDurable(appended);
+        while (flushing) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the history journal");
+            }
+        }
+        // An empty body gives an empty file with the journal's permissions
+        AtomicFiles.replace(file, empty -> { });
+        channel.close();
+        channel = FileChannel.open(file, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Writes any records still waiting, then closes the journal.
+     *
+     * @throws IOException If the remaining records could not be written
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            channel.close();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Makes room for a record and writes its length. The lock must be held.
+     *
+     * @return The offset of the record body in the pending buffer
+     */
+    private int beginRecord(int bodyLength) {
+        ensurePending(FRAME_BYTES + bodyLength);
+        pending.putInt(bodyLength);
+        return pending.position();
+    }
+
+    /**
+     * Writes the checksum of the record body just written and hands the record to the flusher.
+     * The lock must be held.
+     *
+     * @return The sequence number of the record
+     */
+    private long endRecord(int bodyStart) {
+        crc.reset();
+        crc.update(pending.array(), bodyStart, pending.position() - bodyStart);
+        pending.putInt((int) crc.getValue());
+        appended++;
+        // Wake the flusher, which picks up everything appended while it was busy as one batch
+        notifyAll();
+        return appended;
+    }
+
+    /**
+     * Grows the pending buffer if a record of the given size would not fit.
+     */
+    private void ensurePending(int bytes) {
+        if (pending.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + bytes));
+            pending.flip();
+            larger.put(pending);
+            pending = larger;
+        }
+    }
+
+    private void checkUsable() throws IOException {
+        if (failure != null) {
+            throw new IOException("History journal failed", failure);
+        }
+        if (closed) {
+            throw new IOException("History journal is closed");
+        }
+    }
+
+    /**
+     * Runs on the flusher thread: takes whatever has been appended, writes it and forces it to disk.
+     */
+    private void flushLoop() {
+        while (true) {
+            long batch;
+            ByteBuffer buffer;
+            FileChannel target;
+            synchronized (this) {
+                while (pending.position() == 0 && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Only close() stops the flusher
+                    }
+                }
+                if (pending.position() == 0 || failure != null) {
+                    return;
+                }
+                // Swap buffers so appends can continue while this batch is written
+                buffer = pending;
+                pending = writing;
+                pending.clear();
+                writing = buffer;
+                batch = appended;
+                target = channel;
+                flushing = true;
+            }
+            IOException error = null;
+            try {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                target.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            synchronized (this) {
+                flushing = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durable = batch;
+                }
+                notifyAll();
+                if (error != null) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads every whole record from the start of the channel.
+     *
+     * @return The length of the part of the file holding whole records
+     */
+    private static long replay(FileChannel channel, Replayer replayer) throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        CRC32 crc = new CRC32();
+        long position = 0;
+        channel.position(0);
+        while (position + FRAME_BYTES <= size) {
+            header.clear();
+            readFully(channel, header);
+            int bodyLength = header.flip().getInt();
+            if (bodyLength < 1 || position + FRAME_BYTES + bodyLength > size) {
+                break;
+            }
+            ByteBuffer record = ByteBuffer.allocate(bodyLength + Integer.BYTES);
+            readFully(channel, record);
+            record.flip();
+            crc.reset();
+            crc.update(record.array(), 0, bodyLength);
+            if ((int) crc.getValue() != record.getInt(bodyLength)) {
+                break;
+            }
+            record.limit(bodyLength);
+            byte type = record.get();
+            try {
+                if (type == ADD) {
+                    byte[] url = new byte[record.getInt()];
+                    record.get(url);
+                    replayer.add(new String(url, StandardCharsets.UTF_8), record.getLong());
+                } else if (type == REMOVE) {
+                    replayer.remove(record.getLong(), record.getLong());
+                } else if (type == TRUNCATE) {
+                    replayer.truncate(record.getInt());
+                } else {
+                    break;
+                }
+            } catch (BufferUnderflowException | NegativeArraySizeException e) {
+                // The checksum matched but the body does not hold a whole record
+                break;
+            }
+            position += FRAME_BYTES + bodyLength;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of history journal");
+            }
+        }
+    }
+}
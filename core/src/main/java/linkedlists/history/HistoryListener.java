@@ -0,0 +1,30 @@
+package linkedlists.history;
+
+/**
+ * The HistoryListener interface receives the pages added to and removed from a browsing history.
+ * Its methods are called on the thread changing the history, right after each change, so a
+ * driver can report what happened without the history printing anything itself.
+ * A history without a listener skips the calls entirely.
+ */
+public interface HistoryListener {
+
+    /**
+     * Called for each page added to the history, including a revisited page that a bounded
+     * history moves to the end.
+     *
+     * @param url       The URL of the page
+     * @param timestamp The timestamp of the visit, in milliseconds since the epoch
+     */
+    default void pageAdded(String url, long timestamp) {
+    }
+
+    /**
+     * Called for each page removed from the history, including a revisited page that a bounded
+     * history moves to the end, before it is added again.
+     *
+     * @param url       The URL of the page
+     * @param timestamp The timestamp the page had, in milliseconds since the epoch
+     */
+    default void pageRemoved(String url, long timestamp) {
+    }
+}
@@ -0,0 +1,65 @@
+package linkedlists.history;
+
+/**
+ * The HistoryNode class represents a node in a doubly linked list
+ * used to store browsing history with URLs and timestamps.
+ */
+public class HistoryNode {
+    // The URL of the webpage 
+    String url;
+    
+    // The timestamp of when the webpage was visited, in milliseconds since the epoch
+    long timestamp;
+    
+    // The previous node in the linked list 
+    HistoryNode prev;
+    
+    // The next node in the linked list
+    HistoryNode next;
+
+    // When the node was last linked into the history; nodes are only linked at the end, so a
+    // node with a smaller value comes earlier in the list
+    long order;
+
+    /**
+     * Constructs a HistoryNode with the given URL and timestamp.
+     * 
+     * @param url The URL of the webpage
+     * @param timestamp The timestamp of when the webpage was visited, in milliseconds since the epoch
+     */
+    public HistoryNode(String url, long timestamp) {
+        this.url = url;           // Initialize the URL
+        this.timestamp = timestamp; // Initialize the timestamp
+        this.prev = null;         // The previous node is initially null
+        this.next = null;         // The next node is initially null
+    }
+
+    /**
+     * Constructs a HistoryNode with the given URL and a timestamp written as text, such as "10:00 PM".
+     * 
+     * @param url The URL of the webpage
+     * @param timestamp The timestamp of when the webpage was visited, in a form {@link HistoryTimestamps} reads
+     * @throws IllegalArgumentException If the timestamp cannot be read
+     */
+    public HistoryNode(String url, String timestamp) {
+        this(url, HistoryTimestamps.parse(timestamp));
+    }
+
+    /**
+     * Gets the URL of the webpage.
+     * 
+     * @return The URL of the webpage
+     */
+    String getUrl() {
+        return url;
+    }
+
+    /**
+     * Gets the timestamp of when the webpage was visited.
+     * 
+     * @return The timestamp of the visit, in milliseconds since the epoch
+     */
+    long getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,308 @@
+package linkedlists.history;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The HistoryStore class manages a browsing history like {@link BrowserHistory}, but keeps the
+ * doubly linked list in parallel primitive arrays instead of one object per page.
+ * Entry i is linked to prev[i] and next[i] (-1 at either end), visited at timestamp[i], and its
+ * URL is urls[urlId[i]]. Each distinct URL is stored once and shared by every visit to it.
+ * A page costs 20 bytes of arrays, so very large histories take a fraction of the heap and give
+ * the garbage collector a handful of arrays to trace instead of millions of nodes.
+ * Slots of removed pages are kept on a free-list and reused by later pages.
+ */
+public class HistoryStore {
+    // Marks the end of the list and of the free-lists
+    private static final int NIL = -1;
+
+    // The links of each entry; next also chains the free slots together
+    private int[] prev;
+    private int[] next;
+    // The timestamp of each entry, in milliseconds since the epoch
+    private long[] timestamp;
+    // The index of each entry's URL in the URL table
+    private int[] urlId;
+
+    // The head or first entry of the list
+    private int head = NIL;
+    // The tail or last entry of the list
+    private int tail = NIL;
+    // The first free entry slot
+    private int freeSlot = NIL;
+    // The number of slots that have ever been used
+    private int used;
+    // The number of pages in the history
+    private int size;
+
+    // The URL table: each distinct URL once, with the number of pages that use it
+    private String[] urls;
+    private int[] urlRefs;
+    private final Map<String, Integer> urlIds = new HashMap<>();
+    // URL ids that are no longer used, kept as a stack for reuse
+    private int[] freeUrlIds = new int[0];
+    private int freeUrlCount;
+    private int usedUrls;
+
+    /**
+     * Constructs an empty HistoryStore.
+     */
+    public HistoryStore() {
+        this(16);
+    }
+
+    /**
+     * Constructs an empty HistoryStore with room for the given number of pages before it grows.
+     *
+     * @param initialCapacity The number of pages to make room for
+     */
+    public HistoryStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        prev = new int[capacity];
+        next = new int[capacity];
+        timestamp = new long[capacity];
+        urlId = new int[capacity];
+        urls = new String[16];
+        urlRefs = new int[16];
+    }
+
+    /**
+     * Adds a new page to the browsing history.
+     *
+     * @param url The URL of the webpage
+     * @param timestamp The timestamp of when the webpage was visited, such as "10:00 PM"
+     * @throws IllegalArgumentException If the timestamp cannot be read
+     */
+    public void addPage(String url, String timestamp) {
+        addPage(url, HistoryTimestamps.parse(timestamp));
+    }
+
+    /**
+     * Adds a new page to the browsing history.
+     *
+     * @param url The URL of the webpage
+     * @param timestamp The timestamp of when the webpage was visited, in milliseconds since the epoch
+     */
+    public void addPage(String url, long timestamp) {
+        linkLast(url, timestamp);
+    }
+
+    /**
+     * Links an entry at the end of the history.
+     */
+    private void linkLast(String url, long time) {
+        int slot = allocateSlot();
+        timestamp[slot] = time;
+        urlId[slot] = intern(url);
+        next[slot] = NIL;
+        prev[slot] = tail;
+        // If the list is empty, the new entry is also the head
+        if (tail == NIL) {
+            head = slot;
+        } else {
+            next[tail] = slot;
+        }
+        tail = slot;
+        size++;
+    }
+
+    /**
+     * Removes pages from the browsing history based on the timestamp.
+     *
+     * @param timestamp The timestamp of the pages to remove, such as "10:00 PM"
+     * @return The number of pages removed
+     * @throws IllegalArgumentException If the timestamp cannot be read
+     */
+    public int removePage(String timestamp) {
+        long time = HistoryTimestamps.parse(timestamp);
+        return removeRange(time, time);
+    }
+
+    /**
+     * Removes every page visited between two timestamps, inclusive, in one pass over the history.
+     *
+     * @param from The first timestamp to remove, in milliseconds since the epoch
+     * @param to The last timestamp to remove, in milliseconds since the epoch
+     * @return The number of pages removed
+     */
+    public int removeRange(long from, long to) {
+        int removed = 0;
+        int current = head;
+        while (current != NIL) {
+            int following = next[current];
+            if (timestamp[current] >= from && timestamp[current] <= to) {
+                unlink(current);
+                removed++;
+            }
+            current = following;
+        }
+        return removed;
+    }
+
+    /**
+     * Unlinks an entry and puts its slot on the free-list.
+     */
+    private void unlink(int slot) {
+        if (prev[slot] != NIL) {
+            next[prev[slot]] = next[slot];
+        } else {
+            head = next[slot];
+        }
+        if (next[slot] != NIL) {
+            prev[next[slot]] = prev[slot];
+        } else {
+            tail = prev[slot];
+        }
+        release(urlId[slot]);
+        next[slot] = freeSlot;
+        freeSlot = slot;
+        size--;
+    }
+
+    /**
+     * Displays the browsing history from the beginning to the end.
+     */
+    public void displayHistoryForward() {
+        // Condition to check if the list is empty
+        if (head == NIL) {
+            System.out.println("Browsing history is empty.");
+            return;
+        }
+        System.out.println("Browser History Forwards:");
+        for (int current = head; current != NIL; current = next[current]) {
+            // Print the timestamp and URL of the current entry
+            System.out.println(HistoryTimestamps.format(timestamp[current]) + ": " + urls[urlId[current]]);
+        }
+        System.out.println("There are no more histories to show.");
+    }
+
+    /**
+     * Displays the browsing history from the end to the beginning.
+     */
+    public void displayHistoryBackward() {
+        // Condition to check if the list is empty
+        if (tail == NIL) {
+            System.out.println("Browsing history is empty.");
+            return;
+        }
+        System.out.println("Browser History Backwards:");
+        for (int current = tail; current != NIL; current = prev[current]) {
+            // Print the timestamp and URL of the current entry
+            System.out.println(HistoryTimestamps.format(timestamp[current]) + ": " + urls[urlId[current]]);
+        }
+        System.out.println("There are no more histories to show.");
+    }
+
+    /**
+     * Gets the number of pages in the history.
+     *
+     * @return The number of pages
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Saves the browsing history to the given file in the same text format as
+     * {@link BrowserHistory#saveHistoryToFile(Path)}, replacing the file in one step.
+     *
+     * @param file The file to save to
+     * @return True if the history was saved, false if it is empty and there was nothing to save
+     * @throws IOException If an I/O error occurs
+     */
+    public boolean saveHistoryToFile(Path file) throws IOException {
+        // Condition to check if the list is empty
+        if (head == NIL) {
+            return false;
+        }
+        AtomicFiles.replace(file, channel -> {
+            BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 1 << 16);
+            for (int current = head; current != NIL; current = next[current]) {
+                // Write the URL and timestamp of the current entry to the file
+                writer.write(urls[urlId[current]]);
+                writer.write(',');
+                writer.write(HistoryTimestamps.format(timestamp[current]));
+                writer.write('\n');
+            }
+            writer.flush();
+        });
+        return true;
+    }
+
+    /**
+     * Loads browsing history saved as text, adding its entries after the current ones.
+     * Lines without a URL and a readable timestamp are skipped and counted.
+     *
+     * @param file The file to load from
+     * @return How many entries were loaded and skipped
+     * @throws IOException If an I/O error occurs
+     */
+    public BrowserHistory.LoadReport loadHistoryFromFile(Path file) throws IOException {
+        return BrowserHistory.readText(file, this::linkLast);
+    }
+
+    /**
+     * Takes a slot from the free-list, or the next unused slot, growing the arrays if they are full.
+     */
+    private int allocateSlot() {
+        if (freeSlot != NIL) {
+            int slot = freeSlot;
+            freeSlot = next[slot];
+            return slot;
+        }
+        if (used == next.length) {
+            // Grow by half so that appends stay amortised O(1)
+            int capacity = used + Math.max(1, used >> 1);
+            prev = Arrays.copyOf(prev, capacity);
+            next = Arrays.copyOf(next, capacity);
+            timestamp = Arrays.copyOf(timestamp, capacity);
+            urlId = Arrays.copyOf(urlId, capacity);
+        }
+        return used++;
+    }
+
+    /**
+     * Gets the id of a URL in the URL table, adding it if it is new, and counts one more use of it.
+     */
+    private int intern(String url) {
+        Integer known = urlIds.get(url);
+        int id;
+        if (known != null) {
+            id = known;
+        } else {
+            if (freeUrlCount > 0) {
+                id = freeUrlIds[--freeUrlCount];
+            } else {
+                if (usedUrls == urls.length) {
+                    urls = Arrays.copyOf(urls, usedUrls * 2);
+                    urlRefs = Arrays.copyOf(urlRefs, usedUrls * 2);
+                }
+                id = usedUrls++;
+            }
+            urls[id] = url;
+            urlIds.put(url, id);
+        }
+        urlRefs[id]++;
+        return id;
+    }
+
+    /**
+     * Counts one less use of a URL, dropping it from the URL table when no page uses it.
+     */
+    private void release(int id) {
+        if (--urlRefs[id] == 0) {
+            urlIds.remove(urls[id]);
+            urls[id] = null;
+            if (freeUrlCount == freeUrlIds.length) {
+                freeUrlIds = Arrays.copyOf(freeUrlIds, Math.max(16, freeUrlCount * 2));
+            }
+            freeUrlIds[freeUrlCount++] = id;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package linkedlists.history;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The HistoryTimestamps class converts history timestamps between text and epoch milliseconds.
+ * A time of day such as "10:00 PM" is read as that time on 1 January 1970 (UTC), so it becomes
+ * the milliseconds since midnight and is written back the same way. Full dates are accepted as
+ * ISO-8601 instants such as "2024-05-01T22:00:00Z" or local date-times such as "2024-05-01T22:00",
+ * which are read as UTC.
+ */
+public final class HistoryTimestamps {
+    // Milliseconds in one day; smaller values are written as a time of day
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    // Reads times of day such as "10:00 PM", "10:00 pm" or "9:05:30 AM"
+    private static final DateTimeFormatter TIME_OF_DAY_INPUT = new DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .appendPattern("h:mm[:ss] a")
+            .toFormatter(Locale.US);
+    // Writes times of day such as "10:00 PM"
+    private static final DateTimeFormatter TIME_OF_DAY = DateTimeFormatter.ofPattern("h:mm a", Locale.US);
+    // Writes times of day that have seconds, such as "9:05:30 AM"
+    private static final DateTimeFormatter TIME_OF_DAY_SECONDS = DateTimeFormatter.ofPattern("h:mm:ss a", Locale.US);
+
+    private HistoryTimestamps() {
+    }
+
+    /**
+     * Reads a timestamp.
+     *
+     * @param text The timestamp, as a time of day or an ISO-8601 date-time
+     * @return The timestamp in milliseconds since the epoch
+     * @throws IllegalArgumentException If the text is not a timestamp in one of the accepted forms
+     */
+    public static long parse(String text) {
+        String trimmed = text.trim();
+        try {
+            return LocalTime.parse(trimmed, TIME_OF_DAY_INPUT).toNanoOfDay() / 1_000_000;
+        } catch (DateTimeParseException notTimeOfDay) {
+            // Fall through to the date-time forms
+        }
+        try {
+            return Instant.parse(trimmed).toEpochMilli();
+        } catch (DateTimeParseException notInstant) {
+            // Fall through to the local date-time form
+        }
+        try {
+            return LocalDateTime.parse(trimmed).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Not a timestamp: " + text, e);
+        }
+    }
+
+    /**
+     * Writes a timestamp in the form {@link #parse(String)} reads back.
+     *
+     * @param millis The timestamp in milliseconds since the epoch
+     * @return The timestamp as a time of day if it is a whole second on 1 January 1970,
+     *         otherwise as an ISO-8601 instant
+     */
+    public static String format(long millis) {
+        // Times of day are only written for whole seconds, so nothing is lost on the way back
+        if (millis >= 0 && millis < DAY_MILLIS && millis % 1000 == 0) {
+            LocalTime time = LocalTime.ofSecondOfDay(millis / 1000);
+            return (time.getSecond() == 0) ? time.format(TIME_OF_DAY) : time.format(TIME_OF_DAY_SECONDS);
+        }
+        return Instant.ofEpochMilli(millis).toString();
+    }
+}
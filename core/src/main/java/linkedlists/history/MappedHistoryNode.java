@@ -0,0 +1,36 @@
+package linkedlists.history;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The MappedHistoryNode class is a history node loaded from a memory-mapped history file. It keeps
+ * a copy of its URL's UTF-8 bytes, taken from the mapping while the file was scanned, and decodes
+ * them the first time the URL is asked for. It holds no reference to the mapping itself, so the
+ * file's windows can be unmapped once the load is done. The timestamp is read when the node is
+ * made, since the time index needs it.
+ */
+class MappedHistoryNode extends HistoryNode {
+    // The UTF-8 bytes of the URL, dropped once they have been decoded
+    private byte[] urlBytes;
+
+    /**
+     * Constructs a node for the URL held in the given bytes.
+     * 
+     * @param urlBytes  The UTF-8 bytes of the URL, copied out of the mapping
+     * @param timestamp The timestamp of the visit, in milliseconds since the epoch
+     */
+    MappedHistoryNode(byte[] urlBytes, long timestamp) {
+        super(null, timestamp);
+        this.urlBytes = urlBytes;
+    }
+
+    @Override
+    String getUrl() {
+        // Decode the URL the first time it is needed and keep it
+        if (url == null) {
+            url = new String(urlBytes, StandardCharsets.UTF_8);
+            urlBytes = null;
+        }
+        return url;
+    }
+}
@@ -0,0 +1,407 @@
+package linkedlists.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The OffHeapHistoryStore class manages a browsing history whose entries live outside the Java
+ * heap, so that a very large history adds nothing for the garbage collector to trace.
+ *
+ * <p>Each entry is a fixed 32-byte record holding the indexes of the previous and next entries
+ * (-1 at either end), the timestamp, and the offset and length of the URL's UTF-8 bytes in a
+ * separate string area. Records and strings are kept in chunks of direct memory, or of a
+ * memory-mapped file when the store is opened on a file. A file-backed store is simply reopened
+ * after a restart, with no load step. Slots of removed entries are reused, but the string area
+ * only grows.
+ */
+public class OffHeapHistoryStore implements AutoCloseable {
+    // Marks the end of the list and of the free-list
+    private static final int NIL = -1;
+
+    // Layout of a record
+    private static final int RECORD_BYTES = 32;
+    private static final int PREV = 0;
+    private static final int NEXT = 4;
+    private static final int TIME = 8;
+    private static final int URL_OFFSET = 16;
+    private static final int URL_LENGTH = 24;
+
+    // Records and string bytes are allocated in chunks of these sizes
+    private static final int RECORDS_PER_CHUNK = 1 << 20;
+    private static final int STRING_CHUNK_BYTES = 1 << 25;
+
+    // Layout of the header at the start of a record file
+    private static final int MAGIC = 0x4C4C484F; // "LLHO"
+    private static final int HEADER_BYTES = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_HEAD = 4;
+    private static final int H_TAIL = 8;
+    private static final int H_FREE = 12;
+    private static final int H_USED = 16;
+    private static final int H_SIZE = 20;
+    private static final int H_STRINGS_END = 24;
+
+    // The files backing the store, or null if it lives in direct memory
+    private final FileChannel recordFile;
+    private final FileChannel stringFile;
+
+    // The header holding the list's ends, free-list and sizes
+    private final ByteBuffer header;
+    private final List<ByteBuffer> recordChunks = new ArrayList<>();
+    private final List<ByteBuffer> stringChunks = new ArrayList<>();
+
+    private OffHeapHistoryStore(FileChannel recordFile, FileChannel stringFile, ByteBuffer header) {
+        this.recordFile = recordFile;
+        this.stringFile = stringFile;
+        this.header = header;
+    }
+
+    /**
+     * Creates an empty store in direct memory, which is released when the store is no longer reachable.
+     *
+     * @return The store
+     */
+    public static OffHeapHistoryStore allocate() {
+        OffHeapHistoryStore store = new OffHeapHistoryStore(null, null, ByteBuffer.allocateDirect(HEADER_BYTES));
+        store.initHeader();
+        return store;
+    }
+
+    /**
+     * Opens a store kept in a file, creating it if it does not exist. The records are kept in the
+     * given file and the URLs in a file next to it with ".urls" added to its name.
+     *
+     * @param file The record file
+     * @return The store, holding the entries already in the file
+     * @throws IOException If an I/O error occurs or the file is not a history store
+     */
+    public static OffHeapHistoryStore open(Path file) throws IOException {
+        Path strings = file.resolveSibling(file.getFileName() + ".urls");
+        FileChannel records = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel urls = null;
+        try {
+            urls = FileChannel.open(strings, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            boolean created = records.size() == 0;
+            OffHeapHistoryStore store = new OffHeapHistoryStore(records, urls,
+                    records.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES));
+            if (created) {
+                store.initHeader();
+            } else {
+                if (store.header.getInt(H_MAGIC) != MAGIC) {
+                    throw new IOException(file + " is not a history store");
+                }
+                // Map the chunks already in use
+                int used = store.header.getInt(H_USED);
+                while ((long) store.recordChunks.size() * RECORDS_PER_CHUNK < used) {
+                    store.addRecordChunk();
+                }
+                long stringsEnd = store.header.getLong(H_STRINGS_END);
+                while ((long) store.stringChunks.size() * STRING_CHUNK_BYTES < stringsEnd) {
+                    store.addStringChunk();
+                }
+            }
+            return store;
+        } catch (IOException | RuntimeException e) {
+            records.close();
+            if (urls != null) {
+                urls.close();
+            }
+            throw e;
+        }
+    }
+
+    private void initHeader() {
+        header.putInt(H_MAGIC, MAGIC);
+        header.putInt(H_HEAD, NIL);
+        header.putInt(H_TAIL, NIL);
+        header.putInt(H_FREE, NIL);
+        header.putInt(H_USED, 0);
+        header.putInt(H_SIZE, 0);
+        header.putLong(H_STRINGS_END, 0);
+    }
+
+    /**
+     * Adds a new page to the browsing history.
+     *
+     * @param url The URL of the webpage
+     * @param timestamp The timestamp of when the webpage was visited, such as "10:00 PM"
+     * @throws IllegalArgumentException If the timestamp cannot be read
+     */
+    public void addPage(String url, String timestamp) {
+        addPage(url, HistoryTimestamps.parse(timestamp));
+    }
+
+    /**
+     * Adds a new page to the browsing history.
+     *
+     * @param url The URL of the webpage
+     * @param timestamp The timestamp of when the webpage was visited, in milliseconds since the epoch
+     * @throws IllegalArgumentException If the URL is longer than a string chunk
+     */
+    public void addPage(String url, long timestamp) {
+        long urlOffset = storeString(url.getBytes(StandardCharsets.UTF_8));
+        int slot = allocateSlot();
+        int tail = header.getInt(H_TAIL);
+        ByteBuffer chunk = recordChunk(slot);
+        int base = recordBase(slot);
+        chunk.putInt(base + PREV, tail);
+        chunk.putInt(base + NEXT, NIL);
+        chunk.putLong(base + TIME, timestamp);
+        chunk.putLong(base + URL_OFFSET, urlOffset);
+        chunk.putInt(base + URL_LENGTH, (int) (header.getLong(H_STRINGS_END) - urlOffset));
+        // If the list is empty, the new entry is also the head
+        if (tail == NIL) {
+            header.putInt(H_HEAD, slot);
+        } else {
+            setNext(tail, slot);
+        }
+        header.putInt(H_TAIL, slot);
+        header.putInt(H_SIZE, header.getInt(H_SIZE) + 1);
+    }
+
+    /**
+     * Removes pages from the browsing history based on the timestamp.
+     *
+     * @param timestamp The timestamp of the pages to remove, such as "10:00 PM"
+     * @return The number of pages removed
+     * @throws IllegalArgumentException If the timestamp cannot be read
+     */
+    public int removePage(String timestamp) {
+        long time = HistoryTimestamps.parse(timestamp);
+        return removeRange(time, time);
+    }
+
+    /**
+     * Removes every page visited between two timestamps, inclusive, in one pass over the history.
+     *
+     * @param from The first timestamp to remove, in milliseconds since the epoch
+     * @param to The last timestamp to remove, in milliseconds since the epoch
+     * @return The number of pages removed
+     */
+    public int removeRange(long from, long to) {
+        int removed = 0;
+        int current = header.getInt(H_HEAD);
+        while (current != NIL) {
+            int following = next(current);
+            long time = timestamp(current);
+            if (time >= from && time <= to) {
+                unlink(current);
+                removed++;
+            }
+            current = following;
+        }
+        return removed;
+    }
+
+    /**
+     * Unlinks an entry and puts its slot on the free-list.
+     */
+    private void unlink(int slot) {
+        int before = prev(slot);
+        int after = next(slot);
+        if (before != NIL) {
+            setNext(before, after);
+        } else {
+            header.putInt(H_HEAD, after);
+        }
+        if (after != NIL) {
+            setPrev(after, before);
+        } else {
+            header.putInt(H_TAIL, before);
+        }
+        setNext(slot, header.getInt(H_FREE));
+        header.putInt(H_FREE, slot);
+        header.putInt(H_SIZE, header.getInt(H_SIZE) - 1);
+    }
+
+    /**
+     * Displays the browsing history from the beginning to the end.
+     */
+    public void displayHistoryForward() {
+        int current = header.getInt(H_HEAD);
+        // Condition to check if the list is empty
+        if (current == NIL) {
+            System.out.println("Browsing history is empty.");
+            return;
+        }
+        System.out.println("Browser History Forwards:");
+        for (; current != NIL; current = next(current)) {
+            // Print the timestamp and URL of the current entry
+            System.out.println(HistoryTimestamps.format(timestamp(current)) + ": " + url(current));
+        }
+        System.out.println("There are no more histories to show.");
+    }
+
+    /**
+     * Displays the browsing history from the end to the beginning.
+     */
+    public void displayHistoryBackward() {
+        int current = header.getInt(H_TAIL);
+        // Condition to check if the list is empty
+        if (current == NIL) {
+            System.out.println("Browsing history is empty.");
+            return;
+        }
+        System.out.println("Browser History Backwards:");
+        for (; current != NIL; current = prev(current)) {
+            // Print the timestamp and URL of the current entry
+            System.out.println(HistoryTimestamps.format(timestamp(current)) + ": " + url(current));
+        }
+        System.out.println("There are no more histories to show.");
+    }
+
+    /**
+     * Gets the number of pages in the history.
+     *
+     * @return The number of pages
+     */
+    public int size() {
+        return header.getInt(H_SIZE);
+    }
+
+    /**
+     * Forces the changes made so far to the backing files. Does nothing for a store in direct memory.
+     */
+    public void sync() {
+        if (recordFile == null) {
+            return;
+        }
+        // Write the strings and records before the header that refers to them
+        for (ByteBuffer chunk : stringChunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+        for (ByteBuffer chunk : recordChunks) {
+            ((MappedByteBuffer) chunk).force();
+        }
+        ((MappedByteBuffer) header).force();
+    }
+
+    /**
+     * Forces the changes to the backing files and closes them. The store must not be used afterwards.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        if (recordFile != null) {
+            sync();
+            try {
+                recordFile.close();
+            } finally {
+                stringFile.close();
+            }
+        }
+    }
+
+    /**
+     * Copies URL bytes to the end of the string area. A URL never straddles two chunks.
+     *
+     * @return The offset of the first byte in the string area
+     */
+    private long storeString(byte[] bytes) {
+        if (bytes.length > STRING_CHUNK_BYTES) {
+            throw new IllegalArgumentException("URL is longer than " + STRING_CHUNK_BYTES + " bytes");
+        }
+        long end = header.getLong(H_STRINGS_END);
+        int offsetInChunk = (int) (end % STRING_CHUNK_BYTES);
+        // Start a new chunk if the URL does not fit in what is left of the current one
+        if (offsetInChunk != 0 && STRING_CHUNK_BYTES - offsetInChunk < bytes.length) {
+            end += STRING_CHUNK_BYTES - offsetInChunk;
+            offsetInChunk = 0;
+        }
+        int chunkIndex = (int) (end / STRING_CHUNK_BYTES);
+        while (stringChunks.size() <= chunkIndex) {
+            addStringChunk();
+        }
+        stringChunks.get(chunkIndex).put(offsetInChunk, bytes);
+        header.putLong(H_STRINGS_END, end + bytes.length);
+        return end;
+    }
+
+    /**
+     * Takes a slot from the free-list, or the next unused slot, adding a chunk if they are all used.
+     */
+    private int allocateSlot() {
+        int free = header.getInt(H_FREE);
+        if (free != NIL) {
+            header.putInt(H_FREE, next(free));
+            return free;
+        }
+        int used = header.getInt(H_USED);
+        if (used == Integer.MAX_VALUE) {
+            throw new IllegalStateException("History store is full");
+        }
+        if (used == recordChunks.size() * RECORDS_PER_CHUNK) {
+            addRecordChunk();
+        }
+        header.putInt(H_USED, used + 1);
+        return used;
+    }
+
+    private void addRecordChunk() {
+        long bytes = (long) RECORDS_PER_CHUNK * RECORD_BYTES;
+        recordChunks.add(newChunk(recordFile, HEADER_BYTES + recordChunks.size() * bytes, (int) bytes));
+    }
+
+    private void addStringChunk() {
+        stringChunks.add(newChunk(stringFile, (long) stringChunks.size() * STRING_CHUNK_BYTES, STRING_CHUNK_BYTES));
+    }
+
+    /**
+     * Allocates a chunk of direct memory, or maps the given region of a file, growing the file if needed.
+     */
+    private static ByteBuffer newChunk(FileChannel file, long position, int bytes) {
+        if (file == null) {
+            return ByteBuffer.allocateDirect(bytes);
+        }
+        try {
+            return file.map(FileChannel.MapMode.READ_WRITE, position, bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not grow the history store", e);
+        }
+    }
+
+    private ByteBuffer recordChunk(int slot) {
+        return recordChunks.get(slot / RECORDS_PER_CHUNK);
+    }
+
+    private static int recordBase(int slot) {
+        return (slot % RECORDS_PER_CHUNK) * RECORD_BYTES;
+    }
+
+    private int prev(int slot) {
+        return recordChunk(slot).getInt(recordBase(slot) + PREV);
+    }
+
+    private int next(int slot) {
+        return recordChunk(slot).getInt(recordBase(slot) + NEXT);
+    }
+
+    private void setPrev(int slot, int value) {
+        recordChunk(slot).putInt(recordBase(slot) + PREV, value);
+    }
+
+    private void setNext(int slot, int value) {
+        recordChunk(slot).putInt(recordBase(slot) + NEXT, value);
+    }
+
+    private long timestamp(int slot) {
+        return recordChunk(slot).getLong(recordBase(slot) + TIME);
+    }
+
+    private String url(int slot) {
+        ByteBuffer chunk = recordChunk(slot);
+        int base = recordBase(slot);
+        long offset = chunk.getLong(base + URL_OFFSET);
+        byte[] bytes = new byte[chunk.getInt(base + URL_LENGTH)];
+        stringChunks.get((int) (offset / STRING_CHUNK_BYTES)).get((int) (offset % STRING_CHUNK_BYTES), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,127 @@
+package linkedlists.playlist;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Class representing a playlist kept in an ArrayList instead of a linked list.
+ * Finding a song by position takes constant time and the songs sit next to each other in memory,
+ * but adding or removing a song anywhere but the end shifts every song after it.
+ */
+public class ArrayListPlaylist implements Playlist {
+    // The songs in playing order
+    private final List<Song> songs = new ArrayList<>();
+    // Total duration in seconds
+    private long totalDuration = 0;
+
+    /**
+     * Constructor to initialize an empty playlist.
+     */
+    public ArrayListPlaylist() {
+    }
+
+    @Override
+    public void addSong(String title, String artist, int duration) {
+        songs.add(new Song(title, artist, duration));
+        totalDuration += duration;
+    }
+
+    @Override
+    public boolean addSongAtPosition(String title, String artist, int duration, int position) {
+        // Check if the position is out of bounds
+        if (position < 1 || position > songs.size() + 1) {
+            return false;
+        }
+        songs.add(position - 1, new Song(title, artist, duration));
+        totalDuration += duration;
+        return true;
+    }
+
+    @Override
+    public void addAll(Collection<Song> songs) {
+        insertAll(this.songs.size() + 1, songs);
+    }
+
+    @Override
+    public boolean insertAll(int position, Collection<Song> songs) {
+        // Check if the position is out of bounds
+        if (position < 1 || position > this.songs.size() + 1) {
+            return false;
+        }
+        // ArrayList shifts the songs after the position once for the whole collection
+        this.songs.addAll(position - 1, songs);
+        for (Song song : songs) {
+            totalDuration += song.duration;
+        }
+        return true;
+    }
+
+    @Override
+    public Song removeSongByPosition(int position) {
+        // Check if the position is out of bounds, which it always is when the playlist is empty
+        if (position < 1 || position > songs.size()) {
+            return null;
+        }
+        Song removed = songs.remove(position - 1);
+        totalDuration -= removed.duration;
+        return removed;
+    }
+
+    @Override
+    public int removeSongByTitle(String title) {
+        return removeIf(song -> song.title.equalsIgnoreCase(title));
+    }
+
+    @Override
+    public int removeIf(Predicate<Song> filter) {
+        int before = songs.size();
+        // ArrayList removes in one pass, shifting each kept song at most once
+        songs.removeIf(song -> {
+            if (filter.test(song)) {
+                totalDuration -= song.duration;
+                return true;
+            }
+            return false;
+        });
+        return before - songs.size();
+    }
+
+    /**
+     * Gets the song at a specific position in the playlist.
+     *
+     * @param position The position of the song (1-based index)
+     * @return The song at the position, or null if the position is out of bounds
+     */
+    public Song getSong(int position) {
+        if (position < 1 || position > songs.size()) {
+            return null;
+        }
+        return songs.get(position - 1);
+    }
+
+    @Override
+    public void displayPlaylist() {
+        // Check if the playlist is empty
+        if (songs.isEmpty()) {
+            System.out.println("The playlist is empty\n");
+            return;
+        }
+        System.out.println("Playlist:");
+        for (Song song : songs) {
+            System.out.println(song);
+        }
+        System.out.println("That is the end of the playlist.\n");
+    }
+
+    @Override
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    @Override
+    public int size() {
+        return songs.size();
+    }
+}
@@ -0,0 +1,123 @@
+package linkedlists.playlist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The ArtistIndex class maps artists, ignoring case, to the nodes that hold their songs, and keeps
+ * a running count and total duration for each artist.
+ * It lets a playlist find, measure or remove an artist's songs without scanning the whole list.
+ *
+ * @param <N> The type of node stored in the playlist
+ */
+class ArtistIndex<N> {
+    /**
+     * The songs of one artist and their total duration.
+     */
+    private static final class Songs<N> {
+        // The nodes, kept in the order they were added
+        final Set<N> nodes = new LinkedHashSet<>();
+        // The sum of the durations of the nodes in seconds
+        long duration = 0;
+    }
+
+    // The songs for each case-folded artist; songs without an artist are kept under the null key
+    private final Map<String, Songs<N>> songsByArtist = new HashMap<>();
+
+    /**
+     * Records a node under its artist.
+     *
+     * @param node     The node that was added to the playlist
+     * @param artist   The artist of the song held by the node
+     * @param duration The duration of the song in seconds
+     */
+    void add(N node, String artist, int duration) {
+        Songs<N> songs = songsByArtist.computeIfAbsent(storedKey(artist), k -> new Songs<>());
+        if (songs.nodes.add(node)) {
+            songs.duration += duration;
+        }
+    }
+
+    /**
+     * Forgets a node that was removed from the playlist.
+     *
+     * @param node     The node that was removed from the playlist
+     * @param artist   The artist of the song held by the node
+     * @param duration The duration of the song in seconds
+     */
+    void remove(N node, String artist, int duration) {
+        String key = storedKey(artist);
+        Songs<N> songs = songsByArtist.get(key);
+        // The node may already be gone if all of its artist's songs were removed at once
+        if (songs != null && songs.nodes.remove(node)) {
+            songs.duration -= duration;
+            if (songs.nodes.isEmpty()) {
+                songsByArtist.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Forgets every node with the given artist and returns them.
+     *
+     * @param artist The artist to remove
+     * @return The nodes that had the artist, or an empty set if there were none
+     */
+    Set<N> removeArtist(String artist) {
+        Songs<N> songs = songsByArtist.remove(key(artist));
+        return songs == null ? Collections.emptySet() : songs.nodes;
+    }
+
+    /**
+     * Finds every node with the given artist.
+     *
+     * @param artist The artist to look up
+     * @return The nodes that have the artist, in the order they were added
+     */
+    List<N> find(String artist) {
+        Songs<N> songs = songsByArtist.get(key(artist));
+        return songs == null ? new ArrayList<>() : new ArrayList<>(songs.nodes);
+    }
+
+    /**
+     * Counts the nodes with the given artist.
+     *
+     * @param artist The artist to look up
+     * @return The number of songs by the artist
+     */
+    int count(String artist) {
+        Songs<N> songs = songsByArtist.get(key(artist));
+        return songs == null ? 0 : songs.nodes.size();
+    }
+
+    /**
+     * Gets the total duration of the nodes with the given artist.
+     *
+     * @param artist The artist to look up
+     * @return The total duration of the artist's songs in seconds
+     */
+    long duration(String artist) {
+        Songs<N> songs = songsByArtist.get(key(artist));
+        return songs == null ? 0 : songs.duration;
+    }
+
+    /**
+     * Case-folds an artist so that lookups ignore case like equalsIgnoreCase does.
+     */
+    private static String key(String artist) {
+        return TitleIndex.foldCase(artist);
+    }
+
+    /**
+     * Gets the key a node is kept under, which is null for a song without an artist. Lookups
+     * go through {@link #key(String)}, so like the scans they do not accept a null artist.
+     */
+    private static String storedKey(String artist) {
+        return artist == null ? null : TitleIndex.foldCase(artist);
+    }
+}
@@ -0,0 +1,415 @@
+package linkedlists.playlist;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A class representing a basic playlist of songs using a singly linked list.
+ * It allows adding, removing and adding songs.
+ */
+public class BasicPlayList implements Playlist {
+    // Head or the first song of the playlist
+    private SongNodeSingly head; 
+    // Tail or the last song of the playlist, kept so appends do not walk the list
+    private SongNodeSingly tail;
+    // Number of songs in the playlist
+    private int size;
+    // Total duration in seconds
+    private long totalDuration;
+    // Optional index from title to songs, null unless enabled
+    private TitleIndex<SongNodeSingly> titleIndex;
+    // Listener told about each song added or removed, null unless set
+    private PlaylistListener listener;
+
+    /**
+     * Constructor to initialize an empty playlist.
+     */
+    public BasicPlayList() {
+        // The head set to null initially indicating that the playlist is empty when created.
+        this.head = null; 
+        this.tail = null;
+        this.size = 0;
+        this.totalDuration = 0;
+        this.titleIndex = null;
+    }
+
+    /**
+     * Adds a new song to the end of the playlist.
+     *
+     * @param title    The title of the song.
+     * @param artist   The artist of the song.
+     * @param duration The duration of the song in seconds.
+     */
+    public void addSong(String title, String artist, int duration) {
+        // Create a new song node with the given title, artist, and duration
+        SongNodeSingly newNode = new SongNodeSingly(title, artist, duration); 
+        // If the playlist is empty, set the new node as the head and tail
+        if (head == null) {
+            head = newNode; 
+            tail = newNode;
+        }
+        // Otherwise, link the new node after the tail and make it the new tail
+        else {
+            tail.next = newNode; 
+            tail = newNode;
+        }
+        linked(newNode);
+    }
+
+    /**
+     * Adds a new song at the specified position in the playlist.
+     *
+     * @param title    The title of the song.
+     * @param artist   The artist of the song.
+     * @param duration The duration of the song in seconds.
+     * @param position The position at which the song should be added (1-based index).
+     * @return True if the song was added, false if the position is out of bounds.
+     */
+    public boolean addSongAtPosition(String title, String artist, int duration, int position) {
+        // Check if the position is out of bounds
+        if (position < 1 || position > size + 1) {
+            return false;
+        }
+        // Create a new song node with the given title, artist, and duration
+        SongNodeSingly newNode = new SongNodeSingly(title, artist, duration); 
+        // If inserting at the beginning, set the new node as the head
+        if (position == 1) {  
+            newNode.next = head; 
+            head = newNode;
+            if (tail == null) {
+                tail = newNode;
+            }
+        } 
+        // If inserting at the end, link the new node after the tail
+        else if (position == size + 1) {
+            tail.next = newNode;
+            tail = newNode;
+        }
+        // Otherwise, traverse to the specified position and insert the new node
+        else {
+            SongNodeSingly current = head;
+            int count = 1;
+            while (count < (position - 1)) {
+                current = current.next;
+                count++;
+            }
+            newNode.next = current.next;
+            current.next = newNode;
+        }
+        linked(newNode);
+        return true;
+    }
+
+    /**
+     * Adds songs to the end of the playlist, in the order the collection gives them.
+     * The songs are linked to each other first and then joined after the tail in one step.
+     *
+     * @param songs The songs to add.
+     */
+    public void addAll(Collection<Song> songs) {
+        insertAll(size + 1, songs);
+    }
+
+    /**
+     * Adds songs at the specified position in the playlist, in the order the collection gives
+     * them, so that the first of them ends up at the position.
+     * The songs are linked to each other first and then joined to the playlist in one step,
+     * after a single walk to the song before the position.
+     *
+     * @param position The position at which the first song should be added (1-based index).
+     * @param songs    The songs to add.
+     * @return True if the songs were added, false if the position is out of bounds.
+     */
+    public boolean insertAll(int position, Collection<Song> songs) {
+        // Check if the position is out of bounds
+        if (position < 1 || position > size + 1) {
+            return false;
+        }
+        if (songs.isEmpty()) {
+            return true;
+        }
+        // Find the song the new songs go after, which is null when inserting at the beginning
+        SongNodeSingly before;
+        if (position == 1) {
+            before = null;
+        } else if (position == size + 1) {
+            before = tail;
+        } else {
+            before = head;
+            for (int count = 1; count < position - 1; count++) {
+                before = before.next;
+            }
+        }
+
+        // Link the new songs to each other off the list
+        SongNodeSingly first = null;
+        SongNodeSingly last = null;
+        for (Song song : songs) {
+            SongNodeSingly newNode = new SongNodeSingly(song.title, song.artist, song.duration);
+            if (first == null) {
+                first = newNode;
+            } else {
+                last.next = newNode;
+            }
+            last = newNode;
+            linked(newNode);
+        }
+
+        // Join the chain to the playlist
+        if (before == null) {
+            last.next = head;
+            head = first;
+        } else {
+            last.next = before.next;
+            before.next = first;
+        }
+        if (last.next == null) {
+            tail = last;
+        }
+        return true;
+    }
+
+    /**
+     * Removes the song at the specified position from the playlist.
+     *
+     * @param position The position of the song to be removed (1-based index).
+     * @return The song removed, or null if the playlist is empty or the position is out of bounds.
+     */
+    public Song removeSongByPosition(int position) {
+        // Check if the position is out of bounds, which it always is when the playlist is empty
+        if (position < 1 || position > size) {
+            return null;
+        } 
+        SongNodeSingly removed;
+        // If removing the first song, set the head to the next song
+        if (position == 1) {
+            removed = head;
+            head = head.next; 
+            if (head == null) {
+                tail = null;
+            }
+        } 
+        // If removing the last song, traverse to the second last song, set its next to null and make it the tail
+        else if (position == size) {
+            SongNodeSingly current = head;
+            int count = 1;
+            while (count < (position - 1)) {
+                current = current.next;
+                count++;
+            }
+            removed = current.next;
+            current.next = null;
+            tail = current;
+        } 
+        // Otherwise, traverse to the song before the one to be removed and update its next pointer
+        else {
+            SongNodeSingly current = head;
+            int count = 1;
+            while (count < (position - 1)) {
+                current = current.next;
+                count++;
+            }
+            removed = current.next;
+            current.next = current.next.next;
+        }
+        unlinked(removed);
+        return removed;
+    }
+
+    /**
+     * Removes all songs with the specified title from the playlist.
+     *
+     * @param title The title of the song(s) to be removed.
+     * @return The number of songs removed.
+     */
+    public int removeSongByTitle(String title) {
+        // Check if the playlist is empty
+        if (head == null) {
+            return 0;
+        }
+
+        int removed;
+        if (titleIndex != null) {
+            // Unlink the songs the index holds for this title, stopping once the last one is found
+            Set<SongNodeSingly> matches = titleIndex.removeTitle(title);
+            removed = matches.isEmpty() ? 0 : removeMatching(matches::contains, matches.size());
+        } else {
+            // Unlink every song with the specified title in a single pass over the playlist
+            removed = removeIf(song -> song.title.equalsIgnoreCase(title));
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every song matching the given condition in a single traversal of the playlist.
+     *
+     * @param filter The condition a song must satisfy to be removed.
+     * @return The number of songs removed.
+     */
+    public int removeIf(Predicate<Song> filter) {
+        return removeMatching(filter, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds every song with the specified title, ignoring case.
+     *
+     * @param title The title to look for.
+     * @return The songs with the title, which is empty if there are none.
+     */
+    public List<SongNodeSingly> findSongsByTitle(String title) {
+        if (titleIndex != null) {
+            return titleIndex.find(title);
+        }
+        List<SongNodeSingly> songs = new ArrayList<>();
+        SongNodeSingly current = head;
+        while (current != null) {
+            if (current.title.equalsIgnoreCase(title)) {
+                songs.add(current);
+            }
+            current = current.next;
+        }
+        return songs;
+    }
+
+    /**
+     * Builds an index from titles to songs so that finding songs by title only touches the
+     * matching songs, and removing them stops as soon as the last match is unlinked.
+     * The index is kept up to date by every change to the playlist.
+     */
+    public void enableTitleIndex() {
+        titleIndex = new TitleIndex<>();
+        SongNodeSingly current = head;
+        while (current != null) {
+            titleIndex.add(current, current.title);
+            current = current.next;
+        }
+    }
+
+    /**
+     * Drops the title index, after which title lookups scan the playlist again.
+     */
+    public void disableTitleIndex() {
+        titleIndex = null;
+    }
+
+    /**
+     * Removes songs matching the given condition in a single traversal, stopping early once
+     * the given number of songs has been removed.
+     *
+     * @param filter The condition a song must satisfy to be removed.
+     * @param limit  The most songs to remove.
+     * @return The number of songs removed.
+     */
+    private int removeMatching(Predicate<? super SongNodeSingly> filter, int limit) {
+        int removed = 0;
+        // The last song kept so far, whose next pointer is rewired past removed songs
+        SongNodeSingly previous = null;
+        SongNodeSingly current = head;
+        while (current != null && removed < limit) {
+            SongNodeSingly next = current.next;
+            if (filter.test(current)) {
+                // Unlink the song from its predecessor, or move the head if it is the first song
+                if (previous == null) {
+                    head = next;
+                } else {
+                    previous.next = next;
+                }
+                // If the last song was removed, the last song kept is the new tail
+                if (current == tail) {
+                    tail = previous;
+                }
+                unlinked(current);
+                removed++;
+            } else {
+                previous = current;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Sets the listener told about each song added to or removed from the playlist.
+     *
+     * @param listener The listener, or null to stop telling anyone.
+     */
+    public void setListener(PlaylistListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Records a song that has just been linked into the playlist.
+     *
+     * @param node The song that was added.
+     */
+    private void linked(SongNodeSingly node) {
+        size++;
+        totalDuration += node.duration;
+        if (titleIndex != null) {
+            titleIndex.add(node, node.title);
+        }
+        if (listener != null) {
+            listener.songAdded(node);
+        }
+    }
+
+    /**
+     * Records a song that has just been unlinked from the playlist.
+     *
+     * @param node The song that was removed.
+     */
+    private void unlinked(SongNodeSingly node) {
+        size--;
+        totalDuration -= node.duration;
+        if (titleIndex != null) {
+            titleIndex.remove(node, node.title);
+        }
+        if (listener != null) {
+            listener.songRemoved(node);
+        }
+    }
+
+    /**
+     * Displays all songs in the playlist.
+     */
+    public void displayPlaylist() {
+        // Check if the playlist is empty
+        if (head == null) {
+            System.out.println("There is nothing to display since the list is empty\n");
+            return;
+        }
+        // Traverse the playlist and print each song
+        System.out.println("Playlist:");
+        SongNodeSingly current = head;
+        while (current != null) {
+            System.out.println(current); 
+            current = current.next;
+        }
+        // Indicate the end of the playlist
+        if (current == null) {
+            System.out.println("There are no more songs to show, since that is the end of the playlist.\n");
+        }
+    }
+
+    /**
+     * Returns the total duration of all songs in the playlist.
+     *
+     * @return The total duration of all songs in seconds.
+     */
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * Returns the current size of the playlist.
+     *
+     * @return The number of songs in the playlist.
+     */
+    public int size() {
+        return size; 
+    }
+
+}
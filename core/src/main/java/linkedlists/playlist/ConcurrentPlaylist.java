@@ -0,0 +1,440 @@
+package linkedlists.playlist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+/**
+ * Class representing a circular doubly linked playlist that is safe to share between a playback
+ * thread and several editor threads.
+ * Appends never block: they are queued and linked by whichever thread next holds the lock.
+ * Readers use optimistic reads or a copy-on-write snapshot, and a song can be removed while
+ * the playback cursor is on it.
+ */
+public class ConcurrentPlaylist {
+    // Guards head, tail and every prev and next link
+    private final StampedLock lock = new StampedLock();
+    // Songs appended but not yet linked into the playlist
+    private final ConcurrentLinkedQueue<SongNode> pending = new ConcurrentLinkedQueue<>();
+    // Number of songs, including the ones still queued
+    private final AtomicInteger size = new AtomicInteger();
+    // Total duration in seconds, including the songs still queued
+    private final AtomicLong totalDuration = new AtomicLong();
+
+    private SongNode head;
+    private SongNode tail;
+    // Number of songs linked into the playlist, leaving out queued appends
+    private int linked;
+    // The song the playback cursor is on, moved by compare-and-set since players only hold the read lock
+    private final AtomicReference<SongNode> current = new AtomicReference<>();
+    // The songs in order as of the last change, or null if it has to be rebuilt
+    private volatile List<SongNode> snapshot;
+
+    /**
+     * Constructor to initialize an empty playlist.
+     */
+    public ConcurrentPlaylist() {
+        this.head = null;
+        this.tail = null;
+        this.snapshot = Collections.emptyList();
+    }
+
+    /**
+     * Adds a song to the end of the playlist without waiting for the lock.
+     *
+     * @param title    Title of the song
+     * @param artist   Artist of the song
+     * @param duration Duration of the song in seconds
+     */
+    public void addSong(String title, String artist, int duration) {
+        size.incrementAndGet();
+        totalDuration.addAndGet(duration);
+        pending.offer(new SongNode(title, artist, duration));
+        // Link the song now if nobody holds the lock; otherwise the holder links it on release
+        drainIfFree();
+    }
+
+    /**
+     * Adds a song at a specific position in the playlist.
+     *
+     * @param title    Title of the song
+     * @param artist   Artist of the song
+     * @param duration Duration of the song in seconds
+     * @param position Position to add the song (1-based index)
+     * @return True if the song was added, false if the position is out of bounds
+     */
+    public boolean addSongAtPosition(String title, String artist, int duration, int position) {
+        SongNode newNode = new SongNode(title, artist, duration);
+        long stamp = writeLock();
+        try {
+            // Check if the position is out of bounds
+            if (position < 1 || position > linked + 1) {
+                return false;
+            }
+            if (head == null) {
+                linkLast(newNode);
+            } else {
+                // Link the song before the one currently at the position, or after the tail
+                SongNode after = (position == linked + 1) ? head : nodeAt(position - 1);
+                newNode.next = after;
+                newNode.prev = after.prev;
+                after.prev.next = newNode;
+                after.prev = newNode;
+                if (position == 1) head = newNode;
+                if (position == linked + 1) tail = newNode;
+                linked++;
+            }
+            size.incrementAndGet();
+            totalDuration.addAndGet(duration);
+            snapshot = null;
+            return true;
+        } finally {
+            release(stamp);
+        }
+    }
+
+    /**
+     * Removes the song at a specific position in the playlist.
+     *
+     * @param position Position of the song to remove (1-based index)
+     * @return Removed song, or null if the position is out of bounds
+     */
+    public SongNode removeSongByPosition(int position) {
+        long stamp = writeLock();
+        try {
+            // Check if the position is out of bounds
+            if (position < 1 || position > linked) {
+                return null;
+            }
+            SongNode node = nodeAt(position - 1);
+            unlink(node);
+            return node;
+        } finally {
+            release(stamp);
+        }
+    }
+
+    /**
+     * Removes every song matching the given condition in a single traversal of the playlist.
+     *
+     * @param filter Condition a song must satisfy to be removed
+     * @return Number of songs removed
+     */
+    public int removeIf(Predicate<Song> filter) {
+        long stamp = writeLock();
+        try {
+            int removed = 0;
+            int remaining = linked;
+            SongNode node = head;
+            // Visit each song exactly once, since the head may move while songs are unlinked
+            while (remaining-- > 0) {
+                SongNode next = node.next;
+                if (filter.test(node)) {
+                    unlink(node);
+                    removed++;
+                }
+                node = next;
+            }
+            return removed;
+        } finally {
+            release(stamp);
+        }
+    }
+
+    /**
+     * Removes all songs with a specific title, ignoring case.
+     *
+     * @param title Title of the songs to remove
+     * @return Number of songs removed
+     */
+    public int removeSongByTitle(String title) {
+        return removeIf(song -> song.title.equalsIgnoreCase(title));
+    }
+
+    /**
+     * Gets the song at a specific position in the playlist.
+     *
+     * @param position Position of the song (1-based index)
+     * @return Song at the position, or null if the position is out of bounds
+     */
+    public SongNode getSong(int position) {
+        drainIfFree();
+        long stamp = lock.readLock();
+        try {
+            if (position < 1 || position > linked) {
+                return null;
+            }
+            return nodeAt(position - 1);
+        } finally {
+            release(stamp);
+        }
+    }
+
+    /**
+     * Gets the first song without blocking, using an optimistic read.
+     *
+     * @return First song, or null if the playlist is empty
+     */
+    public SongNode getFirstSong() {
+        long stamp = lock.tryOptimisticRead();
+        SongNode first = head;
+        if (!lock.validate(stamp)) {
+            // An editor changed the playlist meanwhile, so read again under the lock
+            stamp = lock.readLock();
+            try {
+                first = head;
+            } finally {
+                release(stamp);
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Gets the last song without blocking, using an optimistic read.
+     *
+     * @return Last song, or null if the playlist is empty
+     */
+    public SongNode getLastSong() {
+        long stamp = lock.tryOptimisticRead();
+        SongNode last = tail;
+        if (!lock.validate(stamp)) {
+            // An editor changed the playlist meanwhile, so read again under the lock
+            stamp = lock.readLock();
+            try {
+                last = tail;
+            } finally {
+                release(stamp);
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Gets the songs in order as an unmodifiable list that later changes do not affect.
+     * The list is rebuilt only after the playlist has changed, so repeated reads are cheap.
+     *
+     * @return Songs in playlist order
+     */
+    public List<SongNode> snapshot() {
+        drainIfFree();
+        List<SongNode> songs = snapshot;
+        if (songs != null) {
+            return songs;
+        }
+        long stamp = lock.readLock();
+        try {
+            songs = new ArrayList<>(linked);
+            SongNode node = head;
+            for (int i = linked; i > 0; i--) {
+                songs.add(node);
+                node = node.next;
+            }
+            songs = Collections.unmodifiableList(songs);
+            snapshot = songs;
+            return songs;
+        } finally {
+            release(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of songs in the playlist, including appends that are still queued.
+     *
+     * @return Number of songs
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Gets the total duration of the playlist, including appends that are still queued.
+     *
+     * @return Total duration in seconds
+     */
+    public long getTotalDuration() {
+        return totalDuration.get();
+    }
+
+    /**
+     * Moves the playback cursor to the next song, going round to the first song after the last.
+     * If the song under the cursor was removed, the cursor moves to the first song still in the
+     * playlist that followed it.
+     *
+     * @return Song now under the cursor, or null if the playlist is empty
+     */
+    public SongNode playNext() {
+        drainIfFree();
+        long stamp = lock.readLock();
+        try {
+            // Retry if another player moved the cursor in the meantime, so no step is lost
+            while (true) {
+                SongNode node = current.get();
+                SongNode next = (node == null) ? head : node.next;
+                // Step over songs that were removed after the cursor reached them
+                while (next != null && isRemoved(next)) {
+                    next = next.next;
+                }
+                if (next == null) {
+                    next = head;
+                }
+                if (current.compareAndSet(node, next)) {
+                    return next;
+                }
+            }
+        } finally {
+            release(stamp);
+        }
+    }
+
+    /**
+     * Moves the playback cursor to the previous song, going round to the last song before the first.
+     * If the song under the cursor was removed, the cursor moves to the last song still in the
+     * playlist that preceded it.
+     *
+     * @return Song now under the cursor, or null if the playlist is empty
+     */
+    public SongNode playPrevious() {
+        drainIfFree();
+        long stamp = lock.readLock();
+        try {
+            // Retry if another player moved the cursor in the meantime, so no step is lost
+            while (true) {
+                SongNode node = current.get();
+                SongNode previous = (node == null) ? tail : node.prev;
+                // Step over songs that were removed after the cursor reached them
+                while (previous != null && isRemoved(previous)) {
+                    previous = previous.prev;
+                }
+                if (previous == null) {
+                    previous = tail;
+                }
+                if (current.compareAndSet(node, previous)) {
+                    return previous;
+                }
+            }
+        } finally {
+            release(stamp);
+        }
+    }
+
+    /**
+     * Gets the song under the playback cursor.
+     *
+     * @return Current song, or null if playback has not started
+     */
+    public SongNode getCurrentSong() {
+        return current.get();
+    }
+
+    /**
+     * Takes the write lock and links any queued appends first, so writers see every song.
+     */
+    private long writeLock() {
+        long stamp = lock.writeLock();
+        drainPending();
+        return stamp;
+    }
+
+    /**
+     * Releases a read or write lock, then links appends that were queued while it was held,
+     * since their threads could not take the lock themselves.
+     */
+    private void release(long stamp) {
+        lock.unlock(stamp);
+        drainIfFree();
+    }
+
+    /**
+     * Links queued appends if the write lock can be taken without waiting.
+     */
+    private void drainIfFree() {
+        while (!pending.isEmpty()) {
+            long stamp = lock.tryWriteLock();
+            if (stamp == 0L) {
+                // The current holder links the queued songs when it releases the lock
+                return;
+            }
+            try {
+                drainPending();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Links every queued append at the end of the playlist. The write lock must be held.
+     */
+    private void drainPending() {
+        SongNode node;
+        while ((node = pending.poll()) != null) {
+            linkLast(node);
+            snapshot = null;
+        }
+    }
+
+    private void linkLast(SongNode node) {
+        linked++;
+        if (head == null) {
+            head = node;
+            tail = node;
+            node.next = node;
+            node.prev = node;
+        } else {
+            node.next = head;
+            node.prev = tail;
+            tail.next = node;
+            head.prev = node;
+            tail = node;
+        }
+    }
+
+    /**
+     * Unlinks a song. Its own links are left pointing at its old neighbours so that a playback
+     * cursor on it can still step off. The write lock must be held.
+     */
+    private void unlink(SongNode node) {
+        if (node.next == node) {
+            // The last song was removed; clear its links so a cursor on it restarts from the head
+            head = null;
+            tail = null;
+            node.next = null;
+            node.prev = null;
+        } else {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            if (node == head) head = node.next;
+            if (node == tail) tail = node.prev;
+        }
+        linked--;
+        size.decrementAndGet();
+        totalDuration.addAndGet(-node.duration);
+        snapshot = null;
+    }
+
+    /**
+     * Checks whether a song has been unlinked. A removed song's old predecessor no longer links
+     * to it, while every song in the playlist is linked from its predecessor.
+     */
+    private static boolean isRemoved(SongNode node) {
+        return node.prev == null || node.prev.next != node;
+    }
+
+    /**
+     * Finds the song at a position that is known to be in bounds. A lock must be held.
+     */
+    private SongNode nodeAt(int index) {
+        SongNode node = head;
+        for (int i = 0; i < index; i++) {
+            node = node.next;
+        }
+        return node;
+    }
+}
@@ -0,0 +1,1040 @@
+package linkedlists.playlist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class represents an enhanced playlist which uses the doubly linked list and allows
+ * adding, removing, and shuffling songs. 
+ */
+public class EnhancedPlaylist implements Playlist {
+    // The first node in the playlist
+    private SongNode head;
+    // The last node in the playlist
+    private SongNode tail;
+    // The current node being played
+    SongNode current = null;
+    // Optional index from title to songs, null unless enabled
+    private TitleIndex<SongNode> titleIndex = null;
+    // Optional index from artist to songs with per-artist totals, null unless enabled
+    private ArtistIndex<SongNode> artistIndex = null;
+    // Listener told about each song added or removed, null unless set
+    private PlaylistListener listener = null;
+    // Optional index from position to songs, null unless indexed mode is enabled
+    private PositionIndex positions = null;
+    // Whether the position index must be rebuilt before it is used again
+    // The number of songs in the playlist
+    private int size = 0;
+    // Total duration in seconds
+    private long totalDuration = 0;
+    // The generator used when shuffling without one being given
+    private final RandomGenerator random = new SplittableRandom();
+    // Array reused by every shuffle to hold the songs while they are reordered
+    private SongNode[] scratch = new SongNode[0];
+
+    /**
+     * Constructor to initialize an empty playlist.
+     */
+    public EnhancedPlaylist() {
+        // Initialize head and tail as null indicating an empty list
+        this.head = null;
+        this.tail = null;
+    }
+
+    /**
+     * Adds a new song to the end of the playlist.
+     * 
+     * @param title    The title of the song
+     * @param artist   The artist of the song
+     * @param duration The duration of the song in seconds
+     */
+    public void addSong(String title, String artist, int duration) {
+        // Create a new song node
+        SongNode newNode = new SongNode(title, artist, duration);
+        // If the list is empty, set head and tail to the new node
+        if (head == null) {
+            head = newNode;
+            tail = newNode;
+        } 
+        // Otherwise, add the new node to the end of the list
+        else {
+            tail.next = newNode;
+            newNode.prev = tail; 
+            tail = newNode;
+        }
+        positionInserted(size + 1, newNode);
+        linked(newNode);
+    }
+
+    /**
+     * Adds a new song at a specific position in the playlist.
+     * 
+     * @param title    The title of the song
+     * @param artist   The artist of the song
+     * @param duration The duration of the song in seconds
+     * @param position The position to insert the new song at (1-based index)
+     * @return True if the song was added, false if the position is out of bounds
+     */
+    public boolean addSongAtPosition(String title, String artist, int duration, int position) {
+        // Check if the position is valid
+        if (position < 1 || position > size + 1) {
+            return false;
+        }
+
+        // Create a new song node
+        SongNode newNode = new SongNode(title, artist, duration);
+    
+        // If adding at the start of the list
+        if (position == 1) {
+            if(head == null){
+                head = newNode;
+                tail = newNode;
+            }
+            else{
+                newNode.next = head;
+                head.prev = newNode; 
+                head = newNode;
+            }
+        } 
+        // If adding at the end of the list
+        else if (position == (size + 1)) {
+            if (tail != null) {
+                tail.next = newNode; 
+                newNode.prev = tail; 
+                tail = newNode; 
+            } else {
+                head = newNode;
+                tail = newNode;
+            }
+        } 
+        // If adding in the middle of the list, find the song it goes after
+        else {
+            SongNode current = nodeAt(position - 1);
+            newNode.next = current.next; 
+            newNode.prev = current; 
+            if (current.next != null) {
+                current.next.prev = newNode; 
+            }
+            current.next = newNode; 
+        }
+        positionInserted(position, newNode);
+        linked(newNode);
+        return true;
+    }
+
+    /**
+     * Adds songs to the end of the playlist, in the order the collection gives them.
+     * The songs are linked to each other first and then joined after the tail in one step.
+     * 
+     * @param songs The songs to add
+     */
+    public void addAll(Collection<Song> songs) {
+        insertAll(size + 1, songs);
+    }
+
+    /**
+     * Adds songs at a specific position in the playlist, in the order the collection gives them,
+     * so that the first of them ends up at the position.
+     * The songs are linked to each other first and then joined to the playlist in one step,
+     * after a single lookup of the song before the position. In indexed mode they are joined
+     * into the position index as one run, and indexes and the listener hear about them once
+     * they are in the playlist.
+     * 
+     * @param position The position to insert the first song at (1-based index)
+     * @param songs    The songs to add
+     * @return True if the songs were added, false if the position is out of bounds
+     */
+    public boolean insertAll(int position, Collection<Song> songs) {
+        // Check if the position is valid
+        if (position < 1 || position > size + 1) {
+            return false;
+        }
+        if (songs.isEmpty()) {
+            return true;
+        }
+        // Find the song the new songs go after, which is null when adding at the start
+        SongNode before = (position == 1) ? null : nodeAt(position - 1);
+
+        // Link the new songs to each other off the list
+        SongNode first = null;
+        SongNode last = null;
+        int count = 0;
+        for (Song song : songs) {
+            SongNode newNode = new SongNode(song.title, song.artist, song.duration);
+            if (first == null) {
+                first = newNode;
+            } else {
+                last.next = newNode;
+                newNode.prev = last;
+            }
+            last = newNode;
+            count++;
+        }
+
+        // Join the chain between the song before the position and the song after it
+        SongNode after = (before == null) ? head : before.next;
+        first.prev = before;
+        last.next = after;
+        if (before == null) {
+            head = first;
+        } else {
+            before.next = first;
+        }
+        if (after == null) {
+            tail = last;
+        } else {
+            after.prev = last;
+        }
+        if (positions != null) {
+            positions.insertAll(position - 1, first, count);
+        }
+        // Record the songs now that they are in the list
+        SongNode node = first;
+        for (int i = 0; i < count; i++) {
+            linked(node);
+            node = node.next;
+        }
+        return true;
+    }
+
+    /**
+     * Removes a song from a specific position in the playlist.
+     * 
+     * @param position The position of the song to be removed (1-based index)
+     * @return The song removed, or null if the list is empty or the position is not valid
+     */
+    public Song removeSongByPosition(int position) {
+        // Check if the position is valid, which it never is when the list is empty
+        if (position < 1 || position > size) {
+            return null;
+        }
+
+        // Find the song to remove and unlink it
+        SongNode node = nodeAt(position);
+        unlink(node);
+        return node;
+    }
+
+    /**
+     * Moves every song of another playlist to the end of this one without copying them.
+     * The two chains are joined in constant time and the other playlist is left empty. Songs are
+     * only visited one by one to update a title or artist index, to tell a listener, or to add them
+     * to this playlist's position index when the other playlist is not in indexed mode; when both
+     * are, the two position indexes are merged in O(log n) time.
+     * 
+     * @param other The playlist whose songs are moved
+     * @throws IllegalArgumentException If the other playlist is this playlist
+     */
+    public void concat(EnhancedPlaylist other) {
+        if (other == this) {
+            throw new IllegalArgumentException("A playlist cannot be joined to itself");
+        }
+        // Check if there is anything to move
+        if (other.head == null) {
+            return;
+        }
+        SongNode first = other.head;
+        SongNode last = other.tail;
+        int count = other.size;
+        long duration = other.totalDuration;
+        PositionIndex run = other.detach(1, first, last, count, duration);
+        attach(first, last, count, duration, run);
+    }
+
+    /**
+     * Splits the playlist in two without copying: the songs from a position to the end are moved
+     * to a new playlist, which starts without any indexes. Finding the position walks the list
+     * once, or takes O(log n) time in indexed mode.
+     * 
+     * @param position The position of the first song to move (1-based index), or one past the end
+     *                 to move nothing
+     * @return The new playlist holding the moved songs, or null if the position is out of bounds
+     */
+    public EnhancedPlaylist splitAt(int position) {
+        // Check if the position is valid
+        if (position < 1 || position > size + 1) {
+            return null;
+        }
+        EnhancedPlaylist rest = new EnhancedPlaylist();
+        if (position == size + 1) {
+            return rest;
+        }
+        SongNode first = nodeAt(position);
+        SongNode last = tail;
+        int count = size - position + 1;
+        long duration = rangeDuration(position, first, last, count);
+        detach(position, first, last, count, duration);
+        rest.attach(first, last, count, duration, null);
+        return rest;
+    }
+
+    /**
+     * Moves the songs between two positions, inclusive, to the end of another playlist without
+     * copying them. Finding the two ends walks the list, or takes O(log n) time in indexed mode.
+     * 
+     * @param from The position of the first song to move (1-based index)
+     * @param to   The position of the last song to move (1-based index)
+     * @param dest The playlist to move the songs to
+     * @return True if the songs were moved, false if the positions are out of bounds
+     * @throws IllegalArgumentException If the destination is this playlist
+     */
+    public boolean moveRange(int from, int to, EnhancedPlaylist dest) {
+        if (dest == this) {
+            throw new IllegalArgumentException("Songs cannot be moved to the playlist they are in");
+        }
+        // Check if the positions are valid
+        if (from < 1 || to < from || to > size) {
+            return false;
+        }
+        SongNode first = nodeAt(from);
+        SongNode last = (to == from) ? first : nodeAt(to);
+        int count = to - from + 1;
+        long duration = rangeDuration(from, first, last, count);
+        PositionIndex run = detach(from, first, last, count, duration);
+        dest.attach(first, last, count, duration, run);
+        return true;
+    }
+
+    /**
+     * Cuts a chain of songs out of the playlist, linking the songs on either side of it to each
+     * other. If the song being played is in the chain, the current song steps back to the song
+     * before it. In indexed mode the chain's entries are split out of the position index in
+     * O(log n) time.
+     * 
+     * @param from     The position of the first song of the chain (1-based index)
+     * @param first    The first song of the chain
+     * @param last     The last song of the chain
+     * @param count    The number of songs in the chain
+     * @param duration The total duration of the chain in seconds
+     * @return The chain's entries cut from the position index, or null if indexed mode is off
+     */
+    private PositionIndex detach(int from, SongNode first, SongNode last, int count, long duration) {
+        if (current != null && (count == size || rangeHolds(from, first, last, count, current))) {
+            current = first.prev;
+        }
+        // Link the songs on either side of the chain to each other, updating head and tail at the ends
+        if (first.prev == null) {
+            head = last.next;
+        } else {
+            first.prev.next = last.next;
+        }
+        if (last.next == null) {
+            tail = first.prev;
+        } else {
+            last.next.prev = first.prev;
+        }
+        first.prev = null;
+        last.next = null;
+        size -= count;
+        totalDuration -= duration;
+        PositionIndex run = (positions == null) ? null : positions.cut(from - 1, count);
+        if (size == 0) {
+            // Every song has gone, so the indexes can be emptied without visiting the songs
+            if (titleIndex != null) {
+                titleIndex = new TitleIndex<>();
+            }
+            if (artistIndex != null) {
+                artistIndex = new ArtistIndex<>();
+            }
+        } else if (titleIndex != null || artistIndex != null) {
+            for (SongNode node = first; node != null; node = node.next) {
+                if (titleIndex != null) {
+                    titleIndex.remove(node, node.title);
+                }
+                if (artistIndex != null) {
+                    artistIndex.remove(node, node.artist, node.duration);
+                }
+            }
+        }
+        if (listener != null) {
+            SongNode node = first;
+            for (int i = 0; i < count; i++) {
+                listener.songRemoved(node);
+                node = node.next;
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Links a chain of songs cut from another playlist after the tail. In indexed mode the chain's
+     * entries are merged onto the position index in O(log n) time if the other playlist cut them
+     * out of its own, and otherwise built into it in O(k + log n) time.
+     * 
+     * @param first    The first song of the chain
+     * @param last     The last song of the chain
+     * @param count    The number of songs in the chain
+     * @param duration The total duration of the chain in seconds
+     * @param run      The chain's entries cut from the other playlist's position index, or null
+     */
+    private void attach(SongNode first, SongNode last, int count, long duration, PositionIndex run) {
+        if (tail == null) {
+            head = first;
+        } else {
+            tail.next = first;
+            first.prev = tail;
+        }
+        tail = last;
+        size += count;
+        totalDuration += duration;
+        if (positions != null) {
+            if (run != null) {
+                positions.append(run);
+            } else {
+                positions.insertAll(size - count, first, count);
+            }
+        }
+        if (titleIndex != null || artistIndex != null) {
+            for (SongNode node = first; node != null; node = node.next) {
+                if (titleIndex != null) {
+                    titleIndex.add(node, node.title);
+                }
+                if (artistIndex != null) {
+                    artistIndex.add(node, node.artist, node.duration);
+                }
+            }
+        }
+        if (listener != null) {
+            SongNode node = first;
+            for (int i = 0; i < count; i++) {
+                listener.songAdded(node);
+                node = node.next;
+            }
+        }
+    }
+
+    /**
+     * Gets the total duration of a run of songs. In indexed mode this is two tree lookups;
+     * otherwise it walks the run or the rest of the list, whichever is shorter.
+     * 
+     * @param from  The position of the first song of the run (1-based index)
+     * @param first The first song of the run
+     * @param last  The last song of the run
+     * @param count The number of songs in the run
+     * @return The total duration of the run in seconds
+     */
+    private long rangeDuration(int from, SongNode first, SongNode last, int count) {
+        if (positions != null) {
+            return positions.durationBefore(from - 1 + count) - positions.durationBefore(from - 1);
+        }
+        long duration = 0;
+        if (count <= size / 2) {
+            for (SongNode node = first; node != last.next; node = node.next) {
+                duration += node.duration;
+            }
+            return duration;
+        }
+        // Sum the songs outside the run and take them from the total
+        for (SongNode node = head; node != first; node = node.next) {
+            duration += node.duration;
+        }
+        for (SongNode node = last.next; node != null; node = node.next) {
+            duration += node.duration;
+        }
+        return totalDuration - duration;
+    }
+
+    /**
+     * Checks whether a song is in a run of songs. In indexed mode this is one tree lookup;
+     * otherwise it walks the run or the rest of the list, whichever is shorter.
+     * 
+     * @param from  The position of the first song of the run (1-based index)
+     * @param first The first song of the run
+     * @param last  The last song of the run
+     * @param count The number of songs in the run
+     * @param song  The song to look for, which is in the playlist
+     * @return True if the song is in the run
+     */
+    private boolean rangeHolds(int from, SongNode first, SongNode last, int count, SongNode song) {
+        if (positions != null) {
+            int index = positions.indexOf(song);
+            return index >= from - 1 && index < from - 1 + count;
+        }
+        if (count <= size / 2) {
+            for (SongNode node = first; node != last.next; node = node.next) {
+                if (node == song) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        // The song is in the run if it is not outside it
+        for (SongNode node = head; node != first; node = node.next) {
+            if (node == song) {
+                return false;
+            }
+        }
+        for (SongNode node = last.next; node != null; node = node.next) {
+            if (node == song) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Displays all songs in the playlist.
+     */
+    public void displayPlaylist() {
+        // Check if the list is empty
+        if (head == null) {
+            System.out.println("The playlist is empty\n");
+            return;
+        }
+        // Print each song in the list
+        SongNode current = head;
+        System.out.println("Playlist:");
+        while (current != null) {
+            System.out.println(current);
+            current = current.next;
+        }
+        if (current == null){
+            System.out.println("That is the end of the playlist.\n");
+        }
+    }
+
+    /**
+     * Gets the total duration of all songs in the playlist.
+     * 
+     * @return The total duration in seconds
+     */
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * Gets how long the playlist plays before the song at a specific position starts.
+     * This takes O(log n) time in indexed mode and a walk along the list otherwise.
+     * 
+     * @param position The position of the song (1-based index), or one past the end for the total
+     * @return The elapsed time in seconds, or -1 if the position is out of bounds
+     */
+    public long getElapsedBefore(int position) {
+        if (position < 1 || position > size + 1) {
+            return -1;
+        }
+        if (positions != null) {
+            return positions.durationBefore(position - 1);
+        }
+        long elapsed = 0;
+        SongNode node = head;
+        for (int count = 1; count < position; count++) {
+            elapsed += node.duration;
+            node = node.next;
+        }
+        return elapsed;
+    }
+
+    /**
+     * Finds the song that is playing a given number of seconds into the playlist.
+     * This takes O(log n) time in indexed mode and a walk along the list otherwise.
+     * 
+     * @param offset The offset in seconds from the start of the playlist
+     * @return The song playing at the offset, or null if the offset is outside the playlist
+     */
+    public SongNode getSongAtOffset(long offset) {
+        if (offset < 0 || offset >= totalDuration) {
+            return null;
+        }
+        if (positions != null) {
+            return positions.get(positions.indexAtOffset(offset));
+        }
+        SongNode node = head;
+        while (offset >= node.duration) {
+            offset -= node.duration;
+            node = node.next;
+        }
+        return node;
+    }
+
+    /**
+     * Moves to the next song in the playlist. The call returns right away;
+     * use {@link #startPlayback(PlaybackEngine, PlaybackListener)} to play songs for their duration.
+     * 
+     * @return The song now playing, or null if the list is empty or the end was passed
+     */
+    public SongNode playNext() {
+        // Check if the list is empty
+        if (head == null) {
+            return null;
+        }
+        // If no song is currently being played, start from the head
+        if (current == null) {
+            current = head;
+        } else {
+            // Otherwise, move to the next song
+            current = current.next;
+        }
+        return current;
+    }
+
+    /**
+     * Moves to the previous song in the playlist. The call returns right away;
+     * use {@link #startPlayback(PlaybackEngine, PlaybackListener)} to play songs for their duration.
+     * 
+     * @return The song now playing, or null if the list is empty or the start was passed
+     */
+    public SongNode playPrevious() {
+        // Check if the list is empty
+        if (head == null) {
+            return null;
+        }
+        // If no song is currently being played, start from the tail
+        if (current == null) {
+            current = tail;
+        } else {
+            // Otherwise, move to the previous song
+            current = current.prev;
+        }
+        return current;
+    }
+
+    /**
+     * Starts playing the playlist from the current song, or from the first song if none is playing,
+     * through to the end. Each song plays for its duration on the engine's threads.
+     * The songs to play are copied on the calling thread before this returns, so the session
+     * never reads or writes the playlist from the engine's threads: changing the playlist
+     * afterwards does not change what the session plays, and the current song stays where it was.
+     * 
+     * @param engine   The engine that times the songs
+     * @param listener The listener told about each song
+     * @return The session, which can be paused, resumed, sought, skipped or stopped
+     */
+    public PlaybackSession startPlayback(PlaybackEngine engine, PlaybackListener listener) {
+        SongNode first = (current == null) ? head : current;
+        // Count the songs from the first one to the end, then copy them in order
+        int count = 0;
+        for (SongNode node = first; node != null; node = node.next) {
+            count++;
+        }
+        SongNode[] tracks = new SongNode[count];
+        SongNode node = first;
+        for (int i = 0; i < count; i++) {
+            tracks[i] = node;
+            node = node.next;
+        }
+        return engine.play(Arrays.asList(tracks).iterator(), listener);
+    }
+
+    /**
+     * Removes all songs with a specific title from the playlist.
+     * 
+     * @param title The title of the songs to remove
+     * @return The number of songs removed
+     */
+    public int removeSongByTitle(String title){
+        // Check if the list is empty
+        if (head == null){
+            return 0;
+        }
+
+        int removed;
+        if (titleIndex != null) {
+            // Unlink only the songs the index holds for this title
+            removed = 0;
+            for (SongNode node : titleIndex.removeTitle(title)) {
+                unlink(node);
+                removed++;
+            }
+        } else {
+            // Unlink every song with the given title in a single pass over the list
+            removed = removeIf(song -> song.title.equalsIgnoreCase(title));
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all songs with a specific title from the playlist.
+     * 
+     * @param title The title of the songs to remove
+     * @return The number of songs removed
+     * @deprecated Use {@link #removeSongByTitle(String)}, which is the name every playlist shares
+     */
+    @Deprecated
+    public int remmoveSongByTitL(String title) {
+        return removeSongByTitle(title);
+    }
+
+    /**
+     * Removes every song matching the given condition in a single traversal of the playlist.
+     * If the song being played is removed, playing next continues with the song that followed it.
+     * 
+     * @param filter The condition a song must satisfy to be removed
+     * @return The number of songs removed
+     */
+    public int removeIf(Predicate<Song> filter) {
+        int removed = 0;
+        SongNode node = head;
+        while (node != null) {
+            SongNode next = node.next;
+            if (filter.test(node)) {
+                unlink(node);
+                removed++;
+            }
+            node = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Finds every song with the given title, ignoring case.
+     * 
+     * @param title The title to look for
+     * @return The songs with the title, which is empty if there are none
+     */
+    public List<SongNode> findSongsByTitle(String title) {
+        if (titleIndex != null) {
+            return titleIndex.find(title);
+        }
+        List<SongNode> songs = new ArrayList<>();
+        SongNode node = head;
+        while (node != null) {
+            if (node.title.equalsIgnoreCase(title)) {
+                songs.add(node);
+            }
+            node = node.next;
+        }
+        return songs;
+    }
+
+    /**
+     * Builds an index from titles to songs so that finding and removing songs by title
+     * only touches the matching songs. The index is kept up to date by every change to the playlist.
+     */
+    public void enableTitleIndex() {
+        titleIndex = new TitleIndex<>();
+        SongNode node = head;
+        while (node != null) {
+            titleIndex.add(node, node.title);
+            node = node.next;
+        }
+    }
+
+    /**
+     * Drops the title index, after which title lookups scan the playlist again.
+     */
+    public void disableTitleIndex() {
+        titleIndex = null;
+    }
+
+    /**
+     * Removes all songs by a specific artist from the playlist, ignoring case.
+     * With the artist index enabled, only the artist's songs are touched.
+     * 
+     * @param artist The artist of the songs to remove
+     * @return The number of songs removed
+     */
+    public int removeSongsByArtist(String artist) {
+        if (artistIndex == null) {
+            // Unlink every song by the artist in a single pass over the list
+            return removeIf(song -> artist.equalsIgnoreCase(song.artist));
+        }
+        // Unlink only the songs the index holds for this artist
+        int removed = 0;
+        for (SongNode node : artistIndex.removeArtist(artist)) {
+            unlink(node);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Finds every song by the given artist, ignoring case.
+     * 
+     * @param artist The artist to look for
+     * @return The songs by the artist, which is empty if there are none
+     */
+    public List<SongNode> findSongsByArtist(String artist) {
+        if (artistIndex != null) {
+            return artistIndex.find(artist);
+        }
+        List<SongNode> songs = new ArrayList<>();
+        SongNode node = head;
+        while (node != null) {
+            if (artist.equalsIgnoreCase(node.artist)) {
+                songs.add(node);
+            }
+            node = node.next;
+        }
+        return songs;
+    }
+
+    /**
+     * Counts the songs by the given artist, ignoring case.
+     * This takes constant time with the artist index enabled and a walk along the list otherwise.
+     * 
+     * @param artist The artist to count
+     * @return The number of songs by the artist
+     */
+    public int getSongCountByArtist(String artist) {
+        if (artistIndex != null) {
+            return artistIndex.count(artist);
+        }
+        int count = 0;
+        SongNode node = head;
+        while (node != null) {
+            if (artist.equalsIgnoreCase(node.artist)) {
+                count++;
+            }
+            node = node.next;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the total duration of the songs by the given artist, ignoring case.
+     * This takes constant time with the artist index enabled and a walk along the list otherwise.
+     * 
+     * @param artist The artist to total
+     * @return The total duration of the artist's songs in seconds
+     */
+    public long getDurationByArtist(String artist) {
+        if (artistIndex != null) {
+            return artistIndex.duration(artist);
+        }
+        long duration = 0;
+        SongNode node = head;
+        while (node != null) {
+            if (artist.equalsIgnoreCase(node.artist)) {
+                duration += node.duration;
+            }
+            node = node.next;
+        }
+        return duration;
+    }
+
+    /**
+     * Builds an index from artists to songs, with a running count and total duration for each
+     * artist, so that finding, measuring and removing an artist's songs only touches those songs.
+     * The index is kept up to date by every change to the playlist; shuffling leaves it as it is,
+     * since it does not change which songs are in the playlist.
+     */
+    public void enableArtistIndex() {
+        artistIndex = new ArtistIndex<>();
+        SongNode node = head;
+        while (node != null) {
+            artistIndex.add(node, node.artist, node.duration);
+            node = node.next;
+        }
+    }
+
+    /**
+     * Drops the artist index, after which artist lookups scan the playlist again.
+     */
+    public void disableArtistIndex() {
+        artistIndex = null;
+    }
+
+    /**
+     * Gets the song at a specific position in the playlist.
+     * 
+     * @param position The position of the song (1-based index)
+     * @return The song at the position, or null if the position is out of bounds
+     */
+    public SongNode getSong(int position) {
+        if (position < 1 || position > size) {
+            return null;
+        }
+        return nodeAt(position);
+    }
+
+    /**
+     * Turns on indexed mode, in which finding, adding and removing songs by position take
+     * O(log n) time instead of a walk along the list. Removing songs by title, by artist or with
+     * a condition takes each removed song out of the index in O(log n) time as it is unlinked, and
+     * a bulk insert of k songs joins them in as one run in O(k + log n) time. Moving a run of songs
+     * between two indexed playlists splits and merges their indexes in O(log n) time, while
+     * shuffling rebuilds the index in O(n) time.
+     */
+    public void enableIndexedMode() {
+        positions = PositionIndex.build(head, size);
+    }
+
+    /**
+     * Turns off indexed mode, after which songs are found by walking the list again.
+     */
+    public void disableIndexedMode() {
+        positions = null;
+    }
+
+    /**
+     * Finds the song at a position that is known to be in bounds. In indexed mode this is a tree
+     * lookup; otherwise the list is walked from whichever end is closer.
+     * 
+     * @param position The position of the song (1-based index)
+     * @return The song at the position
+     */
+    private SongNode nodeAt(int position) {
+        if (positions != null) {
+            return positions.get(position - 1);
+        }
+        SongNode node;
+        if (position <= size / 2) {
+            node = head;
+            for (int count = 1; count < position; count++) {
+                node = node.next;
+            }
+        } else {
+            node = tail;
+            for (int count = size; count > position; count--) {
+                node = node.prev;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Records a song inserted at a position in the position index, if indexed mode is on.
+     * 
+     * @param position The position of the new song (1-based index)
+     * @param node     The song that was added
+     */
+    private void positionInserted(int position, SongNode node) {
+        if (positions != null) {
+            positions.insert(position - 1, node);
+        }
+    }
+
+    /**
+     * Sets the listener told about each song added to or removed from the playlist.
+     * 
+     * @param listener The listener, or null to stop telling anyone
+     */
+    public void setListener(PlaylistListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Records a song that has just been linked into the playlist.
+     * 
+     * @param node The song that was added
+     */
+    private void linked(SongNode node) {
+        size++;
+        totalDuration += node.duration;
+        if (titleIndex != null) {
+            titleIndex.add(node, node.title);
+        }
+        if (artistIndex != null) {
+            artistIndex.add(node, node.artist, node.duration);
+        }
+        if (listener != null) {
+            listener.songAdded(node);
+        }
+    }
+
+    /**
+     * Unlinks a song from the playlist, linking its neighbours to each other.
+     * If it is the song being played, the current song steps back so that playing next
+     * continues with the song that followed it.
+     * 
+     * @param node The song to remove
+     */
+    private void unlink(SongNode node) {
+        // Link the neighbours of the song to each other, updating head and tail at the ends
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        if (node == current) {
+            current = node.prev;
+        }
+        if (positions != null) {
+            positions.remove(node);
+        }
+        size--;
+        totalDuration -= node.duration;
+        if (titleIndex != null) {
+            titleIndex.remove(node, node.title);
+        }
+        if (artistIndex != null) {
+            artistIndex.remove(node, node.artist, node.duration);
+        }
+        if (listener != null) {
+            listener.songRemoved(node);
+        }
+    }
+
+    /**
+     * Gets the number of songs in the playlist.
+     * 
+     * @return The number of songs in the playlist
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Shuffles the songs in the playlist with the playlist's own random generator.
+     */
+    public void shuffle() {
+        shuffle(random);
+    }
+
+    /**
+     * Shuffles the songs in the playlist so that every order is equally likely.
+     * Passing a seeded generator gives a reproducible order.
+     * 
+     * @param random The source of randomness, such as a SplittableRandom
+     */
+    public void shuffle(RandomGenerator random) {
+        // Lists with fewer than 2 songs have only one order
+        int length = size;
+        if (length < 2)
+            return;
+        // Shuffle the songs in the reusable scratch array
+        scratch = SongShuffler.fisherYates(head, length, scratch, random);
+    
+        // Put the array back to the list
+        head = scratch[0];
+        head.prev = null;
+        SongNode current = head;
+        for (int i = 1; i < length; i++) {
+            current.next = scratch[i]; 
+            scratch[i].prev = current; 
+            current = current.next;
+        }
+        current.next = null; 
+        tail = current;      
+        SongShuffler.clear(scratch, length);
+        if (positions != null) {
+            enableIndexedMode();
+        }
+    }
+
+    /**
+     * Shuffles the songs in the playlist by relinking them in place, without allocating an array.
+     * This is slower than {@link #shuffle(RandomGenerator)} but suits very large playlists.
+     * 
+     * @param random The source of randomness, such as a SplittableRandom
+     */
+    public void shuffleInPlace(RandomGenerator random) {
+        // Lists with fewer than 2 songs have only one order
+        if (size < 2)
+            return;
+        head = SongShuffler.mergeShuffle(head, size, random);
+
+        // Repair the prev links and find the new tail
+        head.prev = null;
+        SongNode current = head;
+        while (current.next != null) {
+            current.next.prev = current;
+            current = current.next;
+        }
+        tail = current;
+        if (positions != null) {
+            enableIndexedMode();
+        }
+    }
+}
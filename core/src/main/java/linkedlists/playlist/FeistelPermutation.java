@@ -0,0 +1,112 @@
+package linkedlists.playlist;
+
+/**
+ * The FeistelPermutation class is a random permutation of the indices 0 to n-1 that is computed
+ * on demand instead of being stored. A small Feistel network scrambles the bits of an index, and
+ * results that fall outside the range are scrambled again until they land inside it, so any index
+ * can be mapped in O(1) time and the whole permutation takes O(1) memory.
+ * The network itself permutes a power-of-four range; stepping through that range with
+ * {@link #scramble(long)} and skipping results outside a smaller domain visits the domain in an
+ * order that stays the same when the domain later grows within the range.
+ */
+final class FeistelPermutation {
+    // Number of Feistel rounds; four rounds are enough to mix the halves well
+    private static final int ROUNDS = 4;
+
+    // Number of indices being permuted
+    private final int size;
+    // Number of bits in each half of a scrambled value
+    private final int halfBits;
+    // Mask selecting the bits of one half
+    private final long halfMask;
+    // Key of each round, derived from the seed
+    private final long[] keys = new long[ROUNDS];
+
+    /**
+     * Creates a permutation of the indices 0 to size-1 chosen by the seed.
+     *
+     * @param size The number of indices
+     * @param seed The seed selecting the permutation
+     */
+    FeistelPermutation(int size, long seed) {
+        this.size = size;
+        // Use the smallest even bit width that covers every index, so both halves are equal
+        int bits = 2;
+        while ((1L << bits) < size) {
+            bits += 2;
+        }
+        this.halfBits = bits / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        long state = seed;
+        for (int i = 0; i < ROUNDS; i++) {
+            state += 0x9E3779B97F4A7C15L;
+            keys[i] = mix(state);
+        }
+    }
+
+    /**
+     * Gets the number of indices being permuted.
+     *
+     * @return The number of indices
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of values the network permutes, the smallest power of four covering the size.
+     *
+     * @return The size of the network's range
+     */
+    long range() {
+        return 1L << (2 * halfBits);
+    }
+
+    /**
+     * Maps a value through one pass of the network, without walking back into the size.
+     *
+     * @param value The value to map, from 0 to range()-1
+     * @return The scrambled value, from 0 to range()-1
+     */
+    long scramble(long value) {
+        return encrypt(value);
+    }
+
+    /**
+     * Maps an index to its place in the permutation.
+     *
+     * @param index The index to map, from 0 to size-1
+     * @return The permuted index, from 0 to size-1
+     */
+    int apply(int index) {
+        long value = index;
+        // Cycle walk: the network permutes a power-of-two range, so repeat until in range
+        do {
+            value = encrypt(value);
+        } while (value >= size);
+        return (int) value;
+    }
+
+    /**
+     * Runs one pass of the Feistel network over a value of 2 * halfBits bits.
+     */
+    private long encrypt(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (int i = 0; i < ROUNDS; i++) {
+            long next = left ^ (mix(right ^ keys[i]) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * Scrambles a 64-bit value (the SplitMix64 finalizer).
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
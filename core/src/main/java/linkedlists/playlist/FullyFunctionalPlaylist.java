@@ -0,0 +1,1283 @@
+package linkedlists.playlist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * Class representing a fully functional playlist.
+ * Allows adding, removing, displaying, shuffling, and playing songs.
+ */
+public class FullyFunctionalPlaylist implements Playlist {
+    private SongNode head; 
+    private SongNode tail; 
+    private SongNode current; 
+    private boolean continuousPlay; 
+    private TitleIndex<SongNode> titleIndex; 
+    private ArtistIndex<SongNode> artistIndex; 
+    private PlaylistListener listener; 
+    private final RandomGenerator random; 
+    private SongNode[] scratch; 
+    private int size; 
+    private boolean shufflePlay; 
+    private FeistelPermutation shuffleOrder; 
+    private long shuffleStep; 
+    private SongNode[] shuffleSlots; 
+    private int shuffleSlotCount; 
+    private long totalDuration; 
+    private PositionIndex positions; 
+
+    /**
+     * Constructor to initialize the playlist.
+     */
+    public FullyFunctionalPlaylist() {
+        this.head = null; 
+        this.tail = null; 
+        this.current = null; 
+        this.continuousPlay = false; 
+        this.titleIndex = null; 
+        this.artistIndex = null; 
+        this.random = new SplittableRandom(); 
+        this.scratch = new SongNode[0]; 
+        this.size = 0; 
+        this.shufflePlay = false; 
+        this.shuffleOrder = null; 
+        this.shuffleStep = -1; 
+        this.shuffleSlots = null; 
+        this.shuffleSlotCount = 0; 
+        this.totalDuration = 0; 
+        this.positions = null; 
+    }
+
+    /**
+     * Adds a song to the playlist.
+     * 
+     * @param title    Title of the song
+     * @param artist   Artist of the song
+     * @param duration Duration of the song in seconds
+     */
+    public void addSong(String title, String artist, int duration) {
+        SongNode newNode = new SongNode(title, artist, duration);
+
+        // If the playlist is empty, initialize it with the new song
+        if (head == null) {
+            head = newNode;
+            tail = newNode;
+            head.next = head;
+            head.prev = head;
+        } else { 
+            // Otherwise, add the song to the end of the playlist
+            tail.next = newNode;
+            newNode.prev = tail;
+            newNode.next = head;
+            head.prev = newNode;
+            tail = newNode;
+        }
+        positionInserted(size + 1, newNode);
+        linked(newNode);
+    }
+
+    /**
+     * Adds a song to a specific position in the playlist.
+     * 
+     * @param title    Title of the song
+     * @param artist   Artist of the song
+     * @param duration Duration of the song in seconds
+     * @param position Position to add the song (1-based index)
+     * @return True if the song was added, false if the position is out of bounds
+     */
+    public boolean addSongAtPosition(String title, String artist, int duration, int position) {
+        // Check if the position is out of bounds
+        if (position < 1 || position > size + 1) {
+            return false;
+        }
+
+        SongNode newNode = new SongNode(title, artist, duration); 
+        
+        // Add the song at the beginning
+        if (position == 1) {
+            if (head == null) {
+                head = newNode;
+                tail = newNode;
+                head.next = head;
+                head.prev = head;
+            } else {
+                newNode.next = head;
+                newNode.prev = tail;
+                head.prev = newNode;
+                tail.next = newNode;
+                head = newNode;
+            }
+        } 
+        // Add the song at the end
+        else if (position == size + 1) {
+            newNode.next = head;
+            newNode.prev = tail;
+            tail.next = newNode;
+            head.prev = newNode;
+            tail = newNode;
+        } 
+        // Add the song at the specified position in the middlde, after the song before it
+        else {
+            SongNode current = nodeAt(position - 2);
+            newNode.next = current.next;
+            newNode.prev = current;
+            current.next.prev = newNode;
+            current.next = newNode;
+        }
+        positionInserted(position, newNode);
+        linked(newNode);
+        return true;
+    }
+
+    /**
+     * Adds songs to the end of the playlist, in the order the collection gives them.
+     * The songs are linked to each other first and then joined after the tail in one step.
+     * 
+     * @param songs Songs to add
+     */
+    public void addAll(Collection<Song> songs) {
+        insertAll(size + 1, songs);
+    }
+
+    /**
+     * Adds songs at a specific position in the playlist, in the order the collection gives them,
+     * so that the first of them ends up at the position.
+     * The songs are linked to each other first and then joined to the playlist in one step,
+     * after a single lookup of the song before the position. In indexed mode they are joined
+     * into the position index as one run, and indexes and the listener hear about them once
+     * they are in the playlist.
+     * 
+     * @param position Position to add the first song (1-based index)
+     * @param songs    Songs to add
+     * @return True if the songs were added, false if the position is out of bounds
+     */
+    public boolean insertAll(int position, Collection<Song> songs) {
+        // Check if the position is out of bounds
+        if (position < 1 || position > size + 1) {
+            return false;
+        }
+        if (songs.isEmpty()) {
+            return true;
+        }
+        // Find the song the new songs go after; at either end of the circle that is the tail
+        SongNode before = (position == 1 || position == size + 1) ? tail : nodeAt(position - 2);
+
+        // Link the new songs to each other off the playlist
+        SongNode first = null;
+        SongNode last = null;
+        int count = 0;
+        for (Song song : songs) {
+            SongNode newNode = new SongNode(song.title, song.artist, song.duration);
+            if (first == null) {
+                first = newNode;
+            } else {
+                last.next = newNode;
+                newNode.prev = last;
+            }
+            last = newNode;
+            count++;
+        }
+
+        if (before == null) {
+            // The playlist was empty, so the chain closes into a circle on its own
+            head = first;
+            tail = last;
+            last.next = first;
+            first.prev = last;
+        } else {
+            // Join the chain between the song before the position and the song after it
+            SongNode after = before.next;
+            first.prev = before;
+            last.next = after;
+            before.next = first;
+            after.prev = last;
+            if (position == 1) head = first;
+            if (before == tail && position != 1) tail = last;
+        }
+        if (positions != null) {
+            positions.insertAll(position - 1, first, count);
+        }
+        // Record the songs now that they are in the playlist
+        SongNode node = first;
+        for (int i = 0; i < count; i++) {
+            linked(node);
+            node = node.next;
+        }
+        return true;
+    }
+
+    /**
+     * Removes a song from a specific position in the playlist.
+     * 
+     * @param position Position to remove the song (1-based index)
+     * @return Removed song, or null if the playlist is empty or the position is out of bounds
+     */
+    public Song removeSongByPosition(int position) {
+        // Check if the position is out of bounds, which it always is when the playlist is empty
+        if (position < 1 || position > size) {
+            return null;
+        }
+    
+        // Find the song to remove and unlink it
+        SongNode node = nodeAt(position - 1);
+        unlink(node);
+        return node;
+    }
+
+    /**
+     * Moves every song of another playlist to the end of this one without copying them.
+     * The two circles are joined in constant time and the other playlist is left empty. Songs are
+     * only visited one by one to update a title or artist index, to tell a listener, to give them
+     * slots in the shuffle order, or to add them to this playlist's position index when the other
+     * playlist is not in indexed mode; when both are, the two position indexes are merged in
+     * O(log n) time.
+     * 
+     * @param other Playlist whose songs are moved
+     * @throws IllegalArgumentException If the other playlist is this playlist
+     */
+    public void concat(FullyFunctionalPlaylist other) {
+        if (other == this) {
+            throw new IllegalArgumentException("A playlist cannot be joined to itself");
+        }
+        // Check if there is anything to move
+        if (other.head == null) {
+            return;
+        }
+        SongNode first = other.head;
+        SongNode last = other.tail;
+        int count = other.size;
+        long duration = other.totalDuration;
+        PositionIndex run = other.detach(1, first, last, count, duration);
+        attach(first, last, count, duration, run);
+    }
+
+    /**
+     * Splits the playlist in two without copying: the songs from a position to the end are moved
+     * to a new playlist, which starts without any indexes and with both play modes off.
+     * Finding the position walks the playlist once, or takes O(log n) time in indexed mode.
+     * 
+     * @param position Position of the first song to move (1-based index), or one past the end
+     *                 to move nothing
+     * @return New playlist holding the moved songs, or null if the position is out of bounds
+     */
+    public FullyFunctionalPlaylist splitAt(int position) {
+        // Check if the position is out of bounds
+        if (position < 1 || position > size + 1) {
+            return null;
+        }
+        FullyFunctionalPlaylist rest = new FullyFunctionalPlaylist();
+        if (position == size + 1) {
+            return rest;
+        }
+        SongNode first = nodeAt(position - 1);
+        SongNode last = tail;
+        int count = size - position + 1;
+        long duration = rangeDuration(position, first, last, count);
+        detach(position, first, last, count, duration);
+        rest.attach(first, last, count, duration, null);
+        return rest;
+    }
+
+    /**
+     * Moves the songs between two positions, inclusive, to the end of another playlist without
+     * copying them. Finding the two ends walks the playlist, or takes O(log n) time in indexed mode.
+     * 
+     * @param from Position of the first song to move (1-based index)
+     * @param to   Position of the last song to move (1-based index)
+     * @param dest Playlist to move the songs to
+     * @return True if the songs were moved, false if the positions are out of bounds
+     * @throws IllegalArgumentException If the destination is this playlist
+     */
+    public boolean moveRange(int from, int to, FullyFunctionalPlaylist dest) {
+        if (dest == this) {
+            throw new IllegalArgumentException("Songs cannot be moved to the playlist they are in");
+        }
+        // Check if the positions are out of bounds
+        if (from < 1 || to < from || to > size) {
+            return false;
+        }
+        SongNode first = nodeAt(from - 1);
+        SongNode last = (to == from) ? first : nodeAt(to - 1);
+        int count = to - from + 1;
+        long duration = rangeDuration(from, first, last, count);
+        PositionIndex run = detach(from, first, last, count, duration);
+        dest.attach(first, last, count, duration, run);
+        return true;
+    }
+
+    /**
+     * Cuts a chain of songs out of the playlist, linking the songs on either side of it to each
+     * other. If the song being played is in the chain, the current song steps back like it does
+     * when that song alone is removed. In indexed mode the chain's entries are split out of the
+     * position index in O(log n) time.
+     * 
+     * @param from     Position of the first song of the chain (1-based index)
+     * @param first    First song of the chain
+     * @param last     Last song of the chain
+     * @param count    Number of songs in the chain
+     * @param duration Total duration of the chain in seconds
+     * @return Chain's entries cut from the position index, or null if indexed mode is off
+     */
+    private PositionIndex detach(int from, SongNode first, SongNode last, int count, long duration) {
+        if (current != null && (count == size || rangeHolds(from, first, last, count, current))) {
+            current = (first == head) ? null : first.prev;
+        }
+        if (count == size) {
+            // Every song is leaving
+            head = null;
+            tail = null;
+        } else {
+            // Close the circle over the gap the chain leaves
+            first.prev.next = last.next;
+            last.next.prev = first.prev;
+            if (first == head) head = last.next;
+            if (last == tail) tail = first.prev;
+        }
+        first.prev = null;
+        last.next = null;
+        size -= count;
+        totalDuration -= duration;
+        PositionIndex run = (positions == null) ? null : positions.cut(from - 1, count);
+        if (shufflePlay == true) {
+            SongNode node = first;
+            for (int i = 0; i < count; i++) {
+                shuffleRemoved(node);
+                node = node.next;
+            }
+        }
+        if (size == 0) {
+            // Every song has gone, so the indexes can be emptied without visiting the songs
+            if (titleIndex != null) {
+                titleIndex = new TitleIndex<>();
+            }
+            if (artistIndex != null) {
+                artistIndex = new ArtistIndex<>();
+            }
+        } else if (titleIndex != null || artistIndex != null) {
+            for (SongNode node = first; node != null; node = node.next) {
+                if (titleIndex != null) {
+                    titleIndex.remove(node, node.title);
+                }
+                if (artistIndex != null) {
+                    artistIndex.remove(node, node.artist, node.duration);
+                }
+            }
+        }
+        if (listener != null) {
+            SongNode node = first;
+            for (int i = 0; i < count; i++) {
+                listener.songRemoved(node);
+                node = node.next;
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Links a chain of songs cut from another playlist after the tail, closing the circle again.
+     * In indexed mode the chain's entries are merged onto the position index in O(log n) time if
+     * the other playlist cut them out of its own, and otherwise built into it in O(k + log n) time.
+     * 
+     * @param first    First song of the chain
+     * @param last     Last song of the chain
+     * @param count    Number of songs in the chain
+     * @param duration Total duration of the chain in seconds
+     * @param run      Chain's entries cut from the other playlist's position index, or null
+     */
+    private void attach(SongNode first, SongNode last, int count, long duration, PositionIndex run) {
+        if (titleIndex != null || artistIndex != null) {
+            for (SongNode node = first; node != null; node = node.next) {
+                if (titleIndex != null) {
+                    titleIndex.add(node, node.title);
+                }
+                if (artistIndex != null) {
+                    artistIndex.add(node, node.artist, node.duration);
+                }
+            }
+        }
+        if (head == null) {
+            head = first;
+        } else {
+            tail.next = first;
+            first.prev = tail;
+        }
+        tail = last;
+        tail.next = head;
+        head.prev = tail;
+        size += count;
+        totalDuration += duration;
+        if (positions != null) {
+            if (run != null) {
+                positions.append(run);
+            } else {
+                positions.insertAll(size - count, first, count);
+            }
+        }
+        if (shufflePlay == true) {
+            SongNode node = first;
+            for (int i = 0; i < count; i++) {
+                shuffleSlotted(node);
+                node = node.next;
+            }
+        }
+        if (listener != null) {
+            SongNode node = first;
+            for (int i = 0; i < count; i++) {
+                listener.songAdded(node);
+                node = node.next;
+            }
+        }
+    }
+
+    /**
+     * Gets the total duration of a run of songs. In indexed mode this is two tree lookups;
+     * otherwise it walks the run or the rest of the playlist, whichever is shorter.
+     * 
+     * @param from  Position of the first song of the run (1-based index)
+     * @param first First song of the run
+     * @param last  Last song of the run
+     * @param count Number of songs in the run
+     * @return Total duration of the run in seconds
+     */
+    private long rangeDuration(int from, SongNode first, SongNode last, int count) {
+        if (positions != null) {
+            return positions.durationBefore(from - 1 + count) - positions.durationBefore(from - 1);
+        }
+        long duration = 0;
+        if (count <= size / 2) {
+            SongNode node = first;
+            for (int i = 0; i < count; i++) {
+                duration += node.duration;
+                node = node.next;
+            }
+            return duration;
+        }
+        // Sum the songs outside the run, going round from the song after it, and take them from the total
+        SongNode node = last.next;
+        for (int i = count; i < size; i++) {
+            duration += node.duration;
+            node = node.next;
+        }
+        return totalDuration - duration;
+    }
+
+    /**
+     * Checks whether a song is in a run of songs. In indexed mode this is one tree lookup;
+     * otherwise it walks the run or the rest of the playlist, whichever is shorter.
+     * 
+     * @param from  Position of the first song of the run (1-based index)
+     * @param first First song of the run
+     * @param last  Last song of the run
+     * @param count Number of songs in the run
+     * @param song  Song to look for, which is in the playlist
+     * @return True if the song is in the run
+     */
+    private boolean rangeHolds(int from, SongNode first, SongNode last, int count, SongNode song) {
+        if (positions != null) {
+            int index = positions.indexOf(song);
+            return index >= from - 1 && index < from - 1 + count;
+        }
+        if (count <= size / 2) {
+            SongNode node = first;
+            for (int i = 0; i < count; i++) {
+                if (node == song) return true;
+                node = node.next;
+            }
+            return false;
+        }
+        // The song is in the run if it is not outside it
+        SongNode node = last.next;
+        for (int i = count; i < size; i++) {
+            if (node == song) return false;
+            node = node.next;
+        }
+        return true;
+    }
+
+    /**
+     * Removes all songs with a specific title from the playlist.
+     * 
+     * @param title Title of the songs to remove
+     * @return Number of songs removed
+     */
+    public int removeSongByTitle(String title){
+        // Check if the playlist is empty
+        if (head == null) {
+            return 0;
+        }
+
+        int removed;
+        if (titleIndex != null) {
+            // Unlink only the songs the index holds for this title
+            removed = 0;
+            for (SongNode node : titleIndex.removeTitle(title)) {
+                unlink(node);
+                removed++;
+            }
+        } else {
+            // Unlink every song with the specified title in a single pass over the playlist
+            removed = removeIf(song -> song.title.equalsIgnoreCase(title));
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all songs with a specific title from the playlist.
+     * 
+     * @param title Title of the songs to remove
+     * @return Number of songs removed
+     * @deprecated Use {@link #removeSongByTitle(String)}, which is the name every playlist shares
+     */
+    @Deprecated
+    public int remmoveSongByTitle(String title) {
+        return removeSongByTitle(title);
+    }
+
+    /**
+     * Removes every song matching the given condition in a single traversal of the playlist.
+     * If the song being played is removed, playing next continues with the song that followed it.
+     * 
+     * @param filter Condition a song must satisfy to be removed
+     * @return Number of songs removed
+     */
+    public int removeIf(Predicate<Song> filter) {
+        // If the playlist is empty, there is nothing to remove
+        if (head == null) return 0;
+
+        int removed = 0;
+        int remaining = size;
+        SongNode node = head;
+
+        // Visit each song exactly once, since the head may move while songs are unlinked
+        while (remaining-- > 0) {
+            SongNode next = node.next;
+            if (filter.test(node)) {
+                unlink(node);
+                removed++;
+            }
+            node = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Finds every song with the given title, ignoring case.
+     * 
+     * @param title Title to look for
+     * @return Songs with the title, which is empty if there are none
+     */
+    public List<SongNode> findSongsByTitle(String title) {
+        if (titleIndex != null) {
+            return titleIndex.find(title);
+        }
+        List<SongNode> songs = new ArrayList<>();
+        // If the playlist is empty, there is nothing to find
+        if (head == null) return songs;
+
+        SongNode node = head;
+        do {
+            if (node.title.equalsIgnoreCase(title)) {
+                songs.add(node);
+            }
+            node = node.next;
+        } while (node != head);
+        return songs;
+    }
+
+    /**
+     * Builds an index from titles to songs so that finding and removing songs by title
+     * only touches the matching songs. The index is kept up to date by every change to the playlist.
+     */
+    public void enableTitleIndex() {
+        titleIndex = new TitleIndex<>();
+        // If the playlist is empty, the index starts out empty
+        if (head == null) return;
+
+        SongNode node = head;
+        do {
+            titleIndex.add(node, node.title);
+            node = node.next;
+        } while (node != head);
+    }
+
+    /**
+     * Drops the title index, after which title lookups scan the playlist again.
+     */
+    public void disableTitleIndex() {
+        titleIndex = null;
+    }
+
+    /**
+     * Removes all songs by a specific artist from the playlist, ignoring case.
+     * With the artist index enabled, only the artist's songs are touched.
+     * 
+     * @param artist Artist of the songs to remove
+     * @return Number of songs removed
+     */
+    public int removeSongsByArtist(String artist) {
+        if (artistIndex == null) {
+            // Unlink every song by the artist in a single pass over the playlist
+            return removeIf(song -> artist.equalsIgnoreCase(song.artist));
+        }
+        // Unlink only the songs the index holds for this artist
+        int removed = 0;
+        for (SongNode node : artistIndex.removeArtist(artist)) {
+            unlink(node);
+            removed++;
+        }
+        return removed;
+    }
+
+    /**
+     * Finds every song by the given artist, ignoring case.
+     * 
+     * @param artist Artist to look for
+     * @return Songs by the artist, which is empty if there are none
+     */
+    public List<SongNode> findSongsByArtist(String artist) {
+        if (artistIndex != null) {
+            return artistIndex.find(artist);
+        }
+        List<SongNode> songs = new ArrayList<>();
+        // If the playlist is empty, there is nothing to find
+        if (head == null) return songs;
+
+        SongNode node = head;
+        do {
+            if (artist.equalsIgnoreCase(node.artist)) {
+                songs.add(node);
+            }
+            node = node.next;
+        } while (node != head);
+        return songs;
+    }
+
+    /**
+     * Counts the songs by the given artist, ignoring case.
+     * This takes constant time with the artist index enabled and a walk around the playlist otherwise.
+     * 
+     * @param artist Artist to count
+     * @return Number of songs by the artist
+     */
+    public int getSongCountByArtist(String artist) {
+        if (artistIndex != null) {
+            return artistIndex.count(artist);
+        }
+        // If the playlist is empty, there is nothing to count
+        if (head == null) return 0;
+
+        int count = 0;
+        SongNode node = head;
+        do {
+            if (artist.equalsIgnoreCase(node.artist)) {
+                count++;
+            }
+            node = node.next;
+        } while (node != head);
+        return count;
+    }
+
+    /**
+     * Gets the total duration of the songs by the given artist, ignoring case.
+     * This takes constant time with the artist index enabled and a walk around the playlist otherwise.
+     * 
+     * @param artist Artist to total
+     * @return Total duration of the artist's songs in seconds
+     */
+    public long getDurationByArtist(String artist) {
+        if (artistIndex != null) {
+            return artistIndex.duration(artist);
+        }
+        // If the playlist is empty, there is nothing to total
+        if (head == null) return 0;
+
+        long duration = 0;
+        SongNode node = head;
+        do {
+            if (artist.equalsIgnoreCase(node.artist)) {
+                duration += node.duration;
+            }
+            node = node.next;
+        } while (node != head);
+        return duration;
+    }
+
+    /**
+     * Builds an index from artists to songs, with a running count and total duration for each
+     * artist, so that finding, measuring and removing an artist's songs only touches those songs.
+     * The index is kept up to date by every change to the playlist; shuffling leaves it as it is,
+     * since it does not change which songs are in the playlist.
+     */
+    public void enableArtistIndex() {
+        artistIndex = new ArtistIndex<>();
+        // If the playlist is empty, the index starts out empty
+        if (head == null) return;
+
+        SongNode node = head;
+        do {
+            artistIndex.add(node, node.artist, node.duration);
+            node = node.next;
+        } while (node != head);
+    }
+
+    /**
+     * Drops the artist index, after which artist lookups scan the playlist again.
+     */
+    public void disableArtistIndex() {
+        artistIndex = null;
+    }
+
+    /**
+     * Sets the listener told about each song added to or removed from the playlist.
+     * 
+     * @param listener The listener, or null to stop telling anyone
+     */
+    public void setListener(PlaylistListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Records a song that has just been linked into the playlist.
+     * 
+     * @param node Song that was added
+     */
+    private void linked(SongNode node) {
+        size++;
+        totalDuration += node.duration;
+        if (titleIndex != null) {
+            titleIndex.add(node, node.title);
+        }
+        if (artistIndex != null) {
+            artistIndex.add(node, node.artist, node.duration);
+        }
+        if (shufflePlay == true) {
+            shuffleSlotted(node);
+        }
+        if (listener != null) {
+            listener.songAdded(node);
+        }
+    }
+
+    /**
+     * Unlinks a song from the playlist, linking its neighbours to each other.
+     * If it is the song being played, the current song steps back so that playing next
+     * continues with the song that followed it.
+     * 
+     * @param node Song to remove
+     */
+    private void unlink(SongNode node) {
+        // Step the current song back so that playing next continues after the removed song
+        if (node == current) {
+            current = (node == head) ? null : node.prev;
+        }
+        if (node.next == node) {
+            // The last remaining song was removed
+            head = null;
+            tail = null;
+        } else {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            if (node == head) head = node.next;
+            if (node == tail) tail = node.prev;
+        }
+        if (positions != null) {
+            positions.remove(node);
+        }
+        size--;
+        totalDuration -= node.duration;
+        if (titleIndex != null) {
+            titleIndex.remove(node, node.title);
+        }
+        if (artistIndex != null) {
+            artistIndex.remove(node, node.artist, node.duration);
+        }
+        if (shufflePlay == true) {
+            shuffleRemoved(node);
+        }
+        if (listener != null) {
+            listener.songRemoved(node);
+        }
+    }
+
+    /**
+     * Displays all the songs in the playlist.
+     */
+    public void displayPlaylist() {
+        // Check if the playlist is empty
+        if (head == null) {
+            System.out.println("The playlist is empty");
+            return;
+        }
+        SongNode current = head;
+        System.out.println("Playlist:");
+        
+        // Traverse through the playlist to display each song
+        do {
+            System.out.println(current);
+            current = current.next;
+        } while (current != head);
+    }
+
+    /**
+     * Gets the total duration of all songs in the playlist.
+     * 
+     * @return Total duration in seconds
+     */
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * Gets how long the playlist plays before the song at a specific position starts.
+     * This takes O(log n) time in indexed mode and a walk along the playlist otherwise.
+     * 
+     * @param position Position of the song (1-based index), or one past the end for the total
+     * @return Elapsed time in seconds, or -1 if the position is out of bounds
+     */
+    public long getElapsedBefore(int position) {
+        if (position < 1 || position > size + 1) {
+            return -1;
+        }
+        if (positions != null) {
+            return positions.durationBefore(position - 1);
+        }
+        long elapsed = 0;
+        SongNode node = head;
+        for (int count = 1; count < position; count++) {
+            elapsed += node.duration;
+            node = node.next;
+        }
+        return elapsed;
+    }
+
+    /**
+     * Finds the song that is playing a given number of seconds into one pass of the playlist.
+     * This takes O(log n) time in indexed mode and a walk along the playlist otherwise.
+     * 
+     * @param offset Offset in seconds from the start of the playlist
+     * @return Song playing at the offset, or null if the offset is outside the playlist
+     */
+    public SongNode getSongAtOffset(long offset) {
+        if (offset < 0 || offset >= totalDuration) {
+            return null;
+        }
+        if (positions != null) {
+            return positions.get(positions.indexAtOffset(offset));
+        }
+        SongNode node = head;
+        while (offset >= node.duration) {
+            offset -= node.duration;
+            node = node.next;
+        }
+        return node;
+    }
+
+    /**
+     * Turns on indexed mode, in which finding, adding and removing songs by position take
+     * O(log n) time instead of a walk along the playlist. Removing songs by title, by artist or
+     * with a condition takes each removed song out of the index in O(log n) time as it is unlinked,
+     * and a bulk insert of k songs joins them in as one run in O(k + log n) time. Moving a run of
+     * songs between two indexed playlists splits and merges their indexes in O(log n) time, while
+     * shuffling rebuilds the index in O(n) time.
+     */
+    public void enableIndexedMode() {
+        positions = PositionIndex.build(head, size);
+    }
+
+    /**
+     * Turns off indexed mode, after which songs are found by walking the playlist again.
+     */
+    public void disableIndexedMode() {
+        positions = null;
+    }
+
+    /**
+     * Records a song inserted at a position in the position index, if indexed mode is on.
+     * 
+     * @param position Position of the new song (1-based index)
+     * @param node     Song that was added
+     */
+    private void positionInserted(int position, SongNode node) {
+        if (positions != null) {
+            positions.insert(position - 1, node);
+        }
+    }
+
+    /**
+     * Moves to the next song in the playlist. The call returns right away;
+     * use {@link #startPlayback(PlaybackEngine, PlaybackListener)} to play songs for their duration.
+     * 
+     * @return Song now playing, or null if the playlist is empty or has been played through
+     */
+    public SongNode playNext() {
+        // Check if the playlist is empty
+        if (head == null) {
+            return null;
+        }
+        
+        // In shuffle play, move one step forward through the shuffled order
+        if (shufflePlay == true) {
+            current = stepShuffleOrder(1);
+        }
+        // If no song is currently playing, start with the first song
+        else if (current == null) {
+            current = head;
+        } 
+        else if (current == tail){
+            if (continuousPlay == true){
+                current = current.next;
+            }
+            else{
+                current = null;
+            }
+        }
+        else {
+            current = current.next;
+        }
+        return current;
+    }
+
+    /**
+     * Moves to the previous song in the playlist. The call returns right away;
+     * use {@link #startPlayback(PlaybackEngine, PlaybackListener)} to play songs for their duration.
+     * 
+     * @return Song now playing, or null if the playlist is empty or has been played through
+     */
+    public SongNode playPrevious() {
+        // Check if the playlist is empty
+        if (head == null) {
+            return null;
+        }
+        
+        // In shuffle play, move one step back through the shuffled order
+        if (shufflePlay == true) {
+            current = stepShuffleOrder(-1);
+        }
+        // If no song is currently playing, start with the last song
+        else if (current == null) {
+            current = tail;
+        } 
+        else if (current == head){
+            if (continuousPlay == true){
+                current = current.prev;
+            }
+            else{
+                current = null;
+            }
+        }
+        else {
+            current = current.prev;
+        }
+        return current;
+    }
+
+    /**
+     * Shuffles the playlist with the playlist's own random generator.
+     */
+    public void shuffle() {
+        shuffle(random);
+    }
+
+    /**
+     * Shuffles the playlist so that every order is equally likely.
+     * Passing a seeded generator gives a reproducible order.
+     * 
+     * @param random Source of randomness, such as a SplittableRandom
+     */
+    public void shuffle(RandomGenerator random) {
+        // If the playlist has fewer than 2 songs, no need to shuffle
+        if (size < 2) return;
+
+        // Shuffle the songs in the reusable scratch array
+        scratch = SongShuffler.fisherYates(head, size, scratch, random);
+
+        // Reconstruct the circular doubly linked list with the shuffled songs
+        head = scratch[0];
+        tail = scratch[size - 1];
+        for (int i = 0; i < size; i++) {
+            scratch[i].next = scratch[(i + 1) % size];
+            scratch[i].prev = scratch[(i - 1 + size) % size];
+        }
+        SongShuffler.clear(scratch, size);
+
+        if (positions != null) {
+            enableIndexedMode();
+        }
+    }
+
+    /**
+     * Shuffles the playlist by relinking the songs in place, without allocating an array.
+     * This is slower than {@link #shuffle(RandomGenerator)} but suits very large playlists.
+     * 
+     * @param random Source of randomness, such as a SplittableRandom
+     */
+    public void shuffleInPlace(RandomGenerator random) {
+        // If the playlist has fewer than 2 songs, no need to shuffle
+        if (size < 2) return;
+
+        // Break the circle so the songs form a chain, then shuffle the chain
+        tail.next = null;
+        head = SongShuffler.mergeShuffle(head, size, random);
+
+        // Repair the prev links, then close the circle again
+        SongNode current = head;
+        while (current.next != null) {
+            current.next.prev = current;
+            current = current.next;
+        }
+        tail = current;
+        tail.next = head;
+        head.prev = tail;
+
+        if (positions != null) {
+            enableIndexedMode();
+        }
+    }
+
+    /**
+     * Gets the size of the playlist.
+     * 
+     * @return Number of songs in the playlist
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether continuous play mode is enabled.
+     * 
+     * @return True if continuous play is enabled
+     */
+    public boolean isContinuousPlay() {
+        return continuousPlay;
+    }
+
+    /**
+     * Toggles continuous play mode. An empty playlist is left as it is.
+     * 
+     * @return True if continuous play is now enabled
+     */
+    public boolean toggleContinuousPlay() {
+        // If the playlist is empty, leave the mode as it is
+        if (head == null) {
+            return continuousPlay;
+        }
+        // Toggle continuous play flag
+        continuousPlay = !continuousPlay;
+        return continuousPlay;
+    }
+
+    /**
+     * Toggles shuffle play mode. In shuffle play, playing next and previous step through a random
+     * order of the songs without relinking the playlist, so turning it off returns to the
+     * playlist's own order. Songs added or removed while shuffle play is on join or leave the
+     * order without reshuffling it, so no song plays twice in one pass unless the playlist grows to
+     * more than twice its size, which picks a fresh order. An empty playlist is left as it is.
+     * 
+     * @return True if shuffle play is now enabled
+     */
+    public boolean toggleShufflePlay() {
+        // If the playlist is empty, leave the mode as it is
+        if (head == null) {
+            return shufflePlay;
+        }
+        shufflePlay = !shufflePlay;
+        if (shufflePlay == true) {
+            drawShuffleOrder();
+        } else {
+            shuffleOrder = null;
+            shuffleSlots = null;
+        }
+        return shufflePlay;
+    }
+
+    /**
+     * Picks a fresh shuffle order and starts before its first song. Each song gets a slot in
+     * playlist order, and the order covers twice as many slots as there are songs, so songs added
+     * later take the spare slots without changing where the others fall.
+     */
+    private void drawShuffleOrder() {
+        shuffleOrder = new FeistelPermutation(2 * size, random.nextLong());
+        shuffleSlots = new SongNode[size];
+        shuffleSlotCount = 0;
+        shuffleStep = -1;
+        SongNode node = head;
+        for (int i = 0; i < size; i++) {
+            shuffleSlotted(node);
+            node = node.next;
+        }
+    }
+
+    /**
+     * Gives a song that has joined the playlist the next free slot of the shuffle order.
+     * If every slot has been used, the order is dropped and a fresh one is picked at the next step.
+     * 
+     * @param node Song that was added
+     */
+    private void shuffleSlotted(SongNode node) {
+        // Nothing to do if the order is already waiting to be picked again
+        if (shuffleSlots == null) {
+            return;
+        }
+        if (shuffleSlotCount == shuffleOrder.size()) {
+            shuffleSlots = null;
+            return;
+        }
+        if (shuffleSlotCount == shuffleSlots.length) {
+            shuffleSlots = Arrays.copyOf(shuffleSlots, Math.min(2 * shuffleSlotCount, shuffleOrder.size()));
+        }
+        node.shuffleSlot = shuffleSlotCount;
+        shuffleSlots[shuffleSlotCount++] = node;
+    }
+
+    /**
+     * Empties the shuffle order's slot of a song that has left the playlist.
+     * 
+     * @param node Song that was removed
+     */
+    private void shuffleRemoved(SongNode node) {
+        // A song moved in from another playlist may still carry that playlist's slot
+        if (shuffleSlots != null && node.shuffleSlot < shuffleSlotCount && shuffleSlots[node.shuffleSlot] == node) {
+            shuffleSlots[node.shuffleSlot] = null;
+        }
+    }
+
+    /**
+     * Moves through the shuffled order to the next step that holds a song and finds that song.
+     * Steps whose slot is unused or was emptied by a removal are passed over, so a step takes
+     * O(1) time on average plus one extra step for each removed song it passes.
+     * 
+     * @param direction 1 to move forward, -1 to move back
+     * @return Song at the new step, or null if the order has been played through
+     */
+    private SongNode stepShuffleOrder(int direction) {
+        if (shuffleSlots == null) {
+            drawShuffleOrder();
+        }
+        long range = shuffleOrder.range();
+        SongNode song;
+        do {
+            // Start from the first or the last step if nothing is playing
+            if (shuffleStep < 0) {
+                shuffleStep = direction > 0 ? 0 : range - 1;
+            } else {
+                shuffleStep += direction;
+            }
+            // Wrap around in continuous play, otherwise stop at either end
+            if (shuffleStep < 0 || shuffleStep >= range) {
+                if (continuousPlay == true) {
+                    shuffleStep = Math.floorMod(shuffleStep, range);
+                } else {
+                    shuffleStep = -1;
+                    return null;
+                }
+            }
+            long slot = shuffleOrder.scramble(shuffleStep);
+            song = (slot < shuffleSlotCount) ? shuffleSlots[(int) slot] : null;
+        } while (song == null);
+        return song;
+    }
+
+    /**
+     * Finds the song at a position that is known to be in bounds. In indexed mode this is a tree
+     * lookup; otherwise the playlist is walked from whichever end is closer.
+     * 
+     * @param index Position of the song (0-based index)
+     * @return Song at the position
+     */
+    private SongNode nodeAt(int index) {
+        if (positions != null) {
+            return positions.get(index);
+        }
+        SongNode node;
+        if (index < size / 2) {
+            node = head;
+            for (int i = 0; i < index; i++) {
+                node = node.next;
+            }
+        } else {
+            node = tail;
+            for (int i = size - 1; i > index; i--) {
+                node = node.prev;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Starts playing the playlist from the current song, or from the first song if none is
+     * playing, on the engine's threads. The playlist is played once, or round and round while
+     * continuous play is enabled. The songs to play are copied on the calling thread before this
+     * returns, so the session never reads the playlist from the engine's threads and changing the
+     * playlist afterwards does not change what the session plays.
+     * 
+     * @param engine   Engine that times the songs
+     * @param listener Listener told about each song
+     * @return Session, which can be paused, resumed, sought, skipped or stopped
+     */
+    public PlaybackSession startPlayback(PlaybackEngine engine, PlaybackListener listener) {
+        return startPlayback(engine, listener, continuousPlay ? Integer.MAX_VALUE : 1);
+    }
+
+    /**
+     * Starts playing the playlist like {@link #startPlayback(PlaybackEngine, PlaybackListener)},
+     * going round it the given number of times whatever the continuous play mode is.
+     * 
+     * @param engine   Engine that times the songs
+     * @param listener Listener told about each song
+     * @param passes   Number of times to go round the playlist
+     * @return Session, which can be paused, resumed, sought, skipped or stopped
+     */
+    public PlaybackSession startPlayback(PlaybackEngine engine, PlaybackListener listener, int passes) {
+        return engine.play(tracks(passes), listener);
+    }
+
+    /**
+     * Copies the playlist from the current song, or from the first song if none is playing, and
+     * walks the copy round the given number of times. The copy is made here, on the calling
+     * thread, so the walk can run on the engine's threads without touching the playlist.
+     * 
+     * @param passes Number of times to go round the playlist
+     * @return Songs in playing order
+     */
+    private Iterator<SongNode> tracks(int passes) {
+        // Copy the circle once, starting from where playing would start
+        SongNode[] songs = new SongNode[size];
+        SongNode node = (current == null) ? head : current;
+        for (int i = 0; i < size; i++) {
+            songs[i] = node;
+            node = node.next;
+        }
+        return new Iterator<SongNode>() {
+            private int index = 0;
+            private int passesLeft = passes;
+
+            @Override
+            public boolean hasNext() {
+                return songs.length > 0 && passesLeft > 0;
+            }
+
+            @Override
+            public SongNode next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                SongNode song = songs[index++];
+                // Count a pass each time the walk comes back round to the first song
+                if (index == songs.length) {
+                    index = 0;
+                    passesLeft--;
+                }
+                return song;
+            }
+        };
+    }
+    
+}
@@ -0,0 +1,212 @@
+package linkedlists.playlist;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Class representing a playlist kept in a gap buffer: one array holding the songs, with a run of
+ * empty slots (the gap) at the place the playlist was last changed. Adding or removing a song
+ * moves the gap there first, which only shifts the songs between the old and the new place.
+ * A run of edits around the same position, such as building a queue in the middle of a
+ * playlist, therefore costs about as much as appending, while reading by position stays
+ * constant time.
+ */
+public class GapBufferPlaylist implements Playlist {
+    // The songs before the gap are in [0, gapStart) and the songs after it in [gapEnd, length)
+    private Song[] buffer;
+    private int gapStart;
+    private int gapEnd;
+    // Total duration in seconds
+    private long totalDuration = 0;
+
+    /**
+     * Constructor to initialize an empty playlist.
+     */
+    public GapBufferPlaylist() {
+        this(16);
+    }
+
+    /**
+     * Constructor to initialize an empty playlist with room for the given number of songs
+     * before it grows.
+     *
+     * @param initialCapacity The number of songs to make room for
+     */
+    public GapBufferPlaylist(int initialCapacity) {
+        buffer = new Song[Math.max(1, initialCapacity)];
+        gapStart = 0;
+        gapEnd = buffer.length;
+    }
+
+    @Override
+    public void addSong(String title, String artist, int duration) {
+        insert(size(), new Song(title, artist, duration));
+    }
+
+    @Override
+    public boolean addSongAtPosition(String title, String artist, int duration, int position) {
+        // Check if the position is out of bounds
+        if (position < 1 || position > size() + 1) {
+            return false;
+        }
+        insert(position - 1, new Song(title, artist, duration));
+        return true;
+    }
+
+    @Override
+    public void addAll(Collection<Song> songs) {
+        insertAll(size() + 1, songs);
+    }
+
+    @Override
+    public boolean insertAll(int position, Collection<Song> songs) {
+        // Check if the position is out of bounds
+        if (position < 1 || position > size() + 1) {
+            return false;
+        }
+        // Copy the songs out first, so the gap is made wide enough for exactly what is added
+        Song[] added = songs.toArray(new Song[0]);
+        while (gapEnd - gapStart < added.length) {
+            grow();
+        }
+        // Move the gap to the position once and fill it from the front
+        moveGap(position - 1);
+        for (Song song : added) {
+            buffer[gapStart++] = song;
+            totalDuration += song.duration;
+        }
+        return true;
+    }
+
+    @Override
+    public Song removeSongByPosition(int position) {
+        // Check if the position is out of bounds, which it always is when the playlist is empty
+        if (position < 1 || position > size()) {
+            return null;
+        }
+        // Move the gap to just before the song, then widen it over the song
+        moveGap(position - 1);
+        Song removed = buffer[gapEnd];
+        buffer[gapEnd++] = null;
+        totalDuration -= removed.duration;
+        return removed;
+    }
+
+    @Override
+    public int removeSongByTitle(String title) {
+        return removeIf(song -> song.title.equalsIgnoreCase(title));
+    }
+
+    @Override
+    public int removeIf(Predicate<Song> filter) {
+        // Close the gap at the end so the songs are in one run, then compact that run in one pass
+        int length = size();
+        moveGap(length);
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            Song song = buffer[i];
+            if (filter.test(song)) {
+                totalDuration -= song.duration;
+            } else {
+                buffer[kept++] = song;
+            }
+        }
+        Arrays.fill(buffer, kept, length, null);
+        gapStart = kept;
+        return length - kept;
+    }
+
+    /**
+     * Gets the song at a specific position in the playlist.
+     *
+     * @param position The position of the song (1-based index)
+     * @return The song at the position, or null if the position is out of bounds
+     */
+    public Song getSong(int position) {
+        if (position < 1 || position > size()) {
+            return null;
+        }
+        int index = position - 1;
+        // Songs at or after the gap are stored past it
+        return buffer[index < gapStart ? index : index + (gapEnd - gapStart)];
+    }
+
+    @Override
+    public void displayPlaylist() {
+        // Check if the playlist is empty
+        if (size() == 0) {
+            System.out.println("The playlist is empty\n");
+            return;
+        }
+        System.out.println("Playlist:");
+        for (int i = 0; i < gapStart; i++) {
+            System.out.println(buffer[i]);
+        }
+        for (int i = gapEnd; i < buffer.length; i++) {
+            System.out.println(buffer[i]);
+        }
+        System.out.println("That is the end of the playlist.\n");
+    }
+
+    @Override
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    @Override
+    public int size() {
+        return buffer.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Inserts a song at an index known to be in bounds.
+     *
+     * @param index The index of the new song (0-based index)
+     * @param song  The song to insert
+     */
+    private void insert(int index, Song song) {
+        if (gapStart == gapEnd) {
+            grow();
+        }
+        moveGap(index);
+        buffer[gapStart++] = song;
+        totalDuration += song.duration;
+    }
+
+    /**
+     * Moves the gap so that it starts at the given index, shifting only the songs in between.
+     *
+     * @param index The index the gap should start at (0-based index)
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            // Shift the songs in [index, gapStart) to just before the end of the gap
+            int count = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - count, count);
+            Arrays.fill(buffer, index, Math.min(gapStart, gapEnd - count), null);
+            gapStart = index;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            // Shift the songs after the gap down to where the gap starts
+            int count = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, count);
+            Arrays.fill(buffer, Math.max(gapEnd, index), gapEnd + count, null);
+            gapStart = index;
+            gapEnd += count;
+        }
+    }
+
+    /**
+     * Doubles the buffer, keeping the songs after the gap at its end.
+     */
+    private void grow() {
+        int length = buffer.length;
+        int after = length - gapEnd;
+        Song[] larger = new Song[length * 2];
+        System.arraycopy(buffer, 0, larger, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, larger, larger.length - after, after);
+        buffer = larger;
+        gapEnd = larger.length - after;
+    }
+}
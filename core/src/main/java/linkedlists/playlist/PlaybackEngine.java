@@ -0,0 +1,81 @@
+package linkedlists.playlist;
+
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The PlaybackEngine class plays songs by scheduling timed events instead of sleeping.
+ * A few scheduler threads drive every session, so one engine can run tens of thousands of
+ * listening sessions at once without a thread per session.
+ */
+public final class PlaybackEngine implements AutoCloseable {
+    // Threads that fire the end-of-song events of every session
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Lazily creates the engine shared by the playlists.
+     */
+    private static final class Shared {
+        static final PlaybackEngine INSTANCE = new PlaybackEngine();
+    }
+
+    /**
+     * Creates an engine with one scheduler thread per processor.
+     */
+    public PlaybackEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an engine with the given number of scheduler threads.
+     *
+     * @param threads The number of scheduler threads
+     */
+    public PlaybackEngine(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "playback-" + count.incrementAndGet());
+            // Playback should never keep the program running on its own
+            thread.setDaemon(true);
+            return thread;
+        };
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads, factory);
+        // Drop cancelled events right away, since pausing and seeking cancel them often
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = Executors.unconfigurableScheduledExecutorService(executor);
+    }
+
+    /**
+     * Gets the engine shared by the playlists, creating it on first use.
+     *
+     * @return The shared engine
+     */
+    public static PlaybackEngine shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Starts playing the given songs in order.
+     *
+     * @param tracks   The songs to play
+     * @param listener The listener told about each song
+     * @return The session, which can be paused, resumed, sought, skipped or stopped
+     */
+    public PlaybackSession play(Iterator<SongNode> tracks, PlaybackListener listener) {
+        PlaybackSession session = new PlaybackSession(scheduler, tracks, listener);
+        session.start();
+        return session;
+    }
+
+    /**
+     * Stops the scheduler threads. Sessions that are still playing stop advancing.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
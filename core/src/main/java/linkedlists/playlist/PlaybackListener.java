@@ -0,0 +1,21 @@
+package linkedlists.playlist;
+
+/**
+ * The PlaybackListener interface receives the events of a playback session.
+ * Its methods are called on the playback engine's threads, so they should return quickly.
+ */
+public interface PlaybackListener {
+
+    /**
+     * Called when a song starts playing.
+     *
+     * @param song The song that started
+     */
+    void trackStarted(SongNode song);
+
+    /**
+     * Called once when the session has no more songs to play or has been stopped.
+     */
+    default void playbackFinished() {
+    }
+}
@@ -0,0 +1,243 @@
+package linkedlists.playlist;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The PlaybackSession class is one listener's pass through a sequence of songs.
+ * Each song's end is a scheduled event that starts the next song, so no thread waits while a
+ * song plays. Sessions are created by {@link PlaybackEngine#play(Iterator, PlaybackListener)}.
+ * The listener is called on the engine's threads: starting, skipping and stopping hand the work
+ * to the engine instead of calling the listener on the caller's thread. Only a session stopped
+ * after its engine was closed tells its listener on the thread that stopped it.
+ */
+public final class PlaybackSession {
+    private final ScheduledExecutorService scheduler;
+    private final Iterator<SongNode> tracks;
+    private final PlaybackListener listener;
+    // Completed when the session runs out of songs or is stopped
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+
+    // The song being played, null before the first song and after the last
+    private SongNode track;
+    // When the current song ends, in System.nanoTime() terms, while playing
+    private long trackEndNanos;
+    // How much of the current song is left, while paused
+    private long remainingNanos;
+    // The pending end-of-song event, null when paused or finished
+    private ScheduledFuture<?> pending;
+    // Bumped whenever the pending event is replaced, so an outdated event that already fired is ignored
+    private long generation;
+    private boolean paused;
+    private boolean stopped;
+
+    PlaybackSession(ScheduledExecutorService scheduler, Iterator<SongNode> tracks, PlaybackListener listener) {
+        this.scheduler = scheduler;
+        this.tracks = tracks;
+        this.listener = listener;
+    }
+
+    /**
+     * Schedules the first song to start on the engine straight away.
+     */
+    synchronized void start() {
+        schedule(0);
+    }
+
+    /**
+     * Pauses the current song, remembering how much of it is left.
+     */
+    public synchronized void pause() {
+        if (paused || stopped) {
+            return;
+        }
+        cancelPending();
+        remainingNanos = Math.max(0, trackEndNanos - System.nanoTime());
+        paused = true;
+    }
+
+    /**
+     * Resumes a paused song from where it was paused.
+     */
+    public synchronized void resume() {
+        if (!paused || stopped) {
+            return;
+        }
+        paused = false;
+        schedule(remainingNanos);
+    }
+
+    /**
+     * Moves to the given point in the current song. A paused session stays paused.
+     *
+     * @param seconds The point to move to, in seconds from the start of the song
+     */
+    public synchronized void seek(int seconds) {
+        if (stopped || track == null) {
+            return;
+        }
+        int offset = Math.max(0, Math.min(seconds, track.duration));
+        long remaining = TimeUnit.SECONDS.toNanos(track.duration - offset);
+        if (paused) {
+            remainingNanos = remaining;
+        } else {
+            cancelPending();
+            schedule(remaining);
+        }
+    }
+
+    /**
+     * Ends the current song now and has the engine start the next one.
+     */
+    public synchronized void skip() {
+        if (stopped) {
+            return;
+        }
+        cancelPending();
+        paused = false;
+        schedule(0);
+    }
+
+    /**
+     * Stops the session. No more songs are started, and the engine tells the listener.
+     */
+    public synchronized void stop() {
+        if (stopped) {
+            return;
+        }
+        cancelPending();
+        stopped = true;
+        track = null;
+        try {
+            scheduler.execute(this::notifyFinished);
+        } catch (RejectedExecutionException e) {
+            // The engine has been closed, so there is no engine thread left to tell the listener on
+            notifyFinished();
+        }
+    }
+
+    /**
+     * Gets the song being played.
+     *
+     * @return The current song, or null if the session has not started a song or has finished
+     */
+    public synchronized SongNode getCurrentSong() {
+        return track;
+    }
+
+    /**
+     * Gets how far into the current song the session is.
+     *
+     * @return The elapsed time of the current song in seconds, or 0 if no song is playing
+     */
+    public synchronized int getPosition() {
+        if (track == null) {
+            return 0;
+        }
+        long remaining = paused ? remainingNanos : Math.max(0, trackEndNanos - System.nanoTime());
+        return (int) TimeUnit.NANOSECONDS.toSeconds(TimeUnit.SECONDS.toNanos(track.duration) - remaining);
+    }
+
+    /**
+     * Checks whether the session is paused.
+     *
+     * @return True if paused
+     */
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Checks whether the session has finished.
+     *
+     * @return True if the session ran out of songs or was stopped
+     */
+    public boolean isFinished() {
+        return finished.isDone();
+    }
+
+    /**
+     * Waits until the session finishes. If the waiting thread is interrupted, the session is stopped.
+     *
+     * @throws InterruptedException If the waiting thread is interrupted
+     */
+    public void awaitCompletion() throws InterruptedException {
+        try {
+            finished.get();
+        } catch (InterruptedException e) {
+            stop();
+            throw e;
+        } catch (ExecutionException e) {
+            // A listener failed; the session has already stopped
+            throw new IllegalStateException("Playback failed", e.getCause());
+        }
+    }
+
+    /**
+     * Starts the next song, or finishes the session if there are no more songs.
+     */
+    private void advance() {
+        if (!tracks.hasNext()) {
+            finish();
+            return;
+        }
+        track = tracks.next();
+        try {
+            listener.trackStarted(track);
+        } catch (RuntimeException e) {
+            stopped = true;
+            track = null;
+            finished.completeExceptionally(e);
+            return;
+        }
+        // Duration is assumed to be in seconds
+        schedule(TimeUnit.SECONDS.toNanos(track.duration));
+    }
+
+    /**
+     * Schedules the end of the current song after the given delay.
+     */
+    private void schedule(long delayNanos) {
+        long expected = ++generation;
+        trackEndNanos = System.nanoTime() + delayNanos;
+        pending = scheduler.schedule(() -> trackEnded(expected), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Handles the end-of-song event, ignoring it if it was replaced after it fired.
+     */
+    private synchronized void trackEnded(long expected) {
+        if (expected != generation || paused || stopped) {
+            return;
+        }
+        pending = null;
+        advance();
+    }
+
+    private void cancelPending() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    private void finish() {
+        stopped = true;
+        track = null;
+        notifyFinished();
+    }
+
+    private void notifyFinished() {
+        try {
+            listener.playbackFinished();
+        } finally {
+            finished.complete(null);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package linkedlists.playlist;
+
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * The Playlist interface is the set of operations every playlist supports, whatever structure
+ * holds its songs. Code written against it can run on any of the playlists, which lets the same
+ * workload be measured on each of them with the JMH benchmarks in the jmh module.
+ * Songs go in and come out as {@link Song}s, whatever each playlist keeps them in.
+ */
+public interface Playlist {
+
+    /**
+     * Adds a new song to the end of the playlist.
+     *
+     * @param title    The title of the song
+     * @param artist   The artist of the song
+     * @param duration The duration of the song in seconds
+     */
+    void addSong(String title, String artist, int duration);
+
+    /**
+     * Adds a new song at a specific position in the playlist.
+     *
+     * @param title    The title of the song
+     * @param artist   The artist of the song
+     * @param duration The duration of the song in seconds
+     * @param position The position to insert the song at (1-based index)
+     * @return True if the song was added, false if the position is out of bounds
+     */
+    boolean addSongAtPosition(String title, String artist, int duration, int position);
+
+    /**
+     * Adds songs to the end of the playlist, in the order the collection gives them.
+     *
+     * @param songs The songs to add
+     */
+    void addAll(Collection<Song> songs);
+
+    /**
+     * Adds songs at a specific position in the playlist, in the order the collection gives them,
+     * so that the first of them ends up at the position.
+     *
+     * @param position The position to insert the first song at (1-based index)
+     * @param songs    The songs to add
+     * @return True if the songs were added, false if the position is out of bounds
+     */
+    boolean insertAll(int position, Collection<Song> songs);
+
+    /**
+     * Removes the song at a specific position in the playlist.
+     *
+     * @param position The position of the song to remove (1-based index)
+     * @return The song removed, or null if the playlist is empty or the position is out of bounds
+     */
+    Song removeSongByPosition(int position);
+
+    /**
+     * Removes all songs with a specific title, ignoring case.
+     *
+     * @param title The title of the songs to remove
+     * @return The number of songs removed
+     */
+    int removeSongByTitle(String title);
+
+    /**
+     * Removes every song matching the given condition.
+     *
+     * @param filter The condition a song must satisfy to be removed
+     * @return The number of songs removed
+     */
+    int removeIf(Predicate<Song> filter);
+
+    /**
+     * Displays all songs in the playlist.
+     */
+    void displayPlaylist();
+
+    /**
+     * Gets the total duration of all songs in the playlist.
+     *
+     * @return The total duration in seconds
+     */
+    long getTotalDuration();
+
+    /**
+     * Gets the number of songs in the playlist.
+     *
+     * @return The number of songs in the playlist
+     */
+    int size();
+}
@@ -0,0 +1,26 @@
+package linkedlists.playlist;
+
+/**
+ * The PlaylistListener interface receives the songs added to and removed from a playlist.
+ * Its methods are called on the thread changing the playlist, right after each change, so a
+ * driver can report what happened without the playlist printing anything itself.
+ * A playlist without a listener skips the calls entirely.
+ */
+public interface PlaylistListener {
+
+    /**
+     * Called for each song added to the playlist.
+     *
+     * @param song The song that was added
+     */
+    default void songAdded(Song song) {
+    }
+
+    /**
+     * Called for each song removed from the playlist.
+     *
+     * @param song The song that was removed
+     */
+    default void songRemoved(Song song) {
+    }
+}
@@ -0,0 +1,329 @@
+package linkedlists.playlist;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+/**
+ * The PositionIndex class is an order-statistic tree over the songs of a doubly linked playlist.
+ * It is an implicit treap: each entry's position is the number of entries to its left, so
+ * finding, inserting and removing the song at a position take O(log n) expected time.
+ * Each entry also sums the durations in its subtree, so the time elapsed before a position and
+ * the song playing at a given offset are found in O(log n) time as well.
+ * The playlist still owns the prev and next links; the index only tells it where to look.
+ * Each song points at its entry and each entry at its parent, so a song's position, and with it
+ * the removal of a song the playlist already holds, also take O(log n) expected time.
+ */
+class PositionIndex {
+    /**
+     * A tree entry pointing at one song, with the number of entries and total duration of its subtree.
+     */
+    static final class Entry {
+        final SongNode song;
+        final int priority;
+        int count = 1;
+        long duration;
+        Entry left;
+        Entry right;
+        // The entry above this one, null at the root
+        Entry parent;
+
+        Entry(SongNode song, int priority) {
+            this.song = song;
+            this.priority = priority;
+            this.duration = song.duration;
+            song.positionEntry = this;
+        }
+    }
+
+    // Source of the random priorities that keep the tree balanced
+    private final SplittableRandom random = new SplittableRandom();
+    // The root of the tree, null when the index is empty
+    private Entry root;
+
+    /**
+     * Builds an index over the songs linked from the given head in O(n) time.
+     *
+     * @param head The first song of the playlist, or null for an empty playlist
+     * @param size The number of songs to index, which lets circular playlists stop after one lap
+     * @return The index over the playlist
+     */
+    static PositionIndex build(SongNode head, int size) {
+        PositionIndex index = new PositionIndex();
+        index.setRoot(index.tree(head, size));
+        return index;
+    }
+
+    /**
+     * Records a run of songs inserted at the given position, shifting later songs back by the
+     * length of the run. The run is built into a tree of its own in O(k) time, which is then
+     * joined in at the position with one split and two merges.
+     *
+     * @param index The position of the first new song (0-based index)
+     * @param first The first song of the run, already linked to the rest of it
+     * @param count The number of songs in the run
+     */
+    void insertAll(int index, SongNode first, int count) {
+        Entry[] parts = split(root, index);
+        setRoot(merge(merge(parts[0], tree(first, count)), parts[1]));
+    }
+
+    /**
+     * Takes a run of songs out of the index, shifting later songs forward by the length of the
+     * run, and returns them as an index of their own. This is two splits and a merge.
+     *
+     * @param index The position of the first song of the run (0-based index)
+     * @param count The number of songs in the run
+     * @return An index over just the run, in the same order
+     */
+    PositionIndex cut(int index, int count) {
+        Entry[] before = split(root, index);
+        Entry[] after = split(before[1], count);
+        setRoot(merge(before[0], after[1]));
+        PositionIndex run = new PositionIndex();
+        run.setRoot(after[0]);
+        return run;
+    }
+
+    /**
+     * Moves every song of another index to the end of this one with a single merge, leaving the
+     * other index empty.
+     *
+     * @param other The index whose songs now follow this one's
+     */
+    void append(PositionIndex other) {
+        setRoot(merge(root, other.root));
+        other.root = null;
+    }
+
+    /**
+     * Builds a tree over a run of linked songs in O(n) time.
+     *
+     * @param first The first song of the run, or null for an empty run
+     * @param size  The number of songs in the run
+     * @return The root of the tree, or null for an empty run
+     */
+    private Entry tree(SongNode first, int size) {
+        // Build the treap as a Cartesian tree, keeping the rightmost path on a stack
+        Deque<Entry> rightSpine = new ArrayDeque<>();
+        SongNode song = first;
+        for (int i = 0; i < size; i++, song = song.next) {
+            Entry entry = new Entry(song, random.nextInt());
+            Entry last = null;
+            while (!rightSpine.isEmpty() && rightSpine.peek().priority < entry.priority) {
+                last = rightSpine.pop();
+                update(last);
+            }
+            entry.left = last;
+            if (!rightSpine.isEmpty()) {
+                rightSpine.peek().right = entry;
+            }
+            rightSpine.push(entry);
+        }
+        // Fix the counts along the remaining spine, from the bottom up
+        Entry top = null;
+        while (!rightSpine.isEmpty()) {
+            top = rightSpine.pop();
+            update(top);
+        }
+        return top;
+    }
+
+    /**
+     * Gets the number of songs in the index.
+     *
+     * @return The number of songs
+     */
+    int size() {
+        return count(root);
+    }
+
+    /**
+     * Gets the song at the given position.
+     *
+     * @param index The position of the song (0-based index)
+     * @return The song at the position
+     */
+    SongNode get(int index) {
+        Entry entry = root;
+        while (true) {
+            int leftCount = count(entry.left);
+            if (index < leftCount) {
+                entry = entry.left;
+            } else if (index == leftCount) {
+                return entry.song;
+            } else {
+                index -= leftCount + 1;
+                entry = entry.right;
+            }
+        }
+    }
+
+    /**
+     * Gets the total duration of the songs before the given position.
+     *
+     * @param index The position (0-based index), which may be the size to get the total
+     * @return The sum of the durations of the songs before the position, in seconds
+     */
+    long durationBefore(int index) {
+        long total = 0;
+        Entry entry = root;
+        while (entry != null) {
+            int leftCount = count(entry.left);
+            if (index <= leftCount) {
+                entry = entry.left;
+            } else {
+                // The left subtree and this entry are all before the position
+                total += duration(entry.left) + entry.song.duration;
+                index -= leftCount + 1;
+                entry = entry.right;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Finds the position of the song that is playing the given number of seconds into the playlist.
+     *
+     * @param offset The offset in seconds, from 0 up to but not including the total duration
+     * @return The position of the song (0-based index), or -1 if the offset is outside the playlist
+     */
+    int indexAtOffset(long offset) {
+        if (offset < 0 || offset >= duration(root)) {
+            return -1;
+        }
+        int index = 0;
+        Entry entry = root;
+        while (true) {
+            long leftDuration = duration(entry.left);
+            if (offset < leftDuration) {
+                entry = entry.left;
+            } else if (offset < leftDuration + entry.song.duration) {
+                return index + count(entry.left);
+            } else {
+                offset -= leftDuration + entry.song.duration;
+                index += count(entry.left) + 1;
+                entry = entry.right;
+            }
+        }
+    }
+
+    /**
+     * Finds the position of a song in the index by climbing from its entry to the root.
+     *
+     * @param song A song that is in the index
+     * @return The position of the song (0-based index)
+     */
+    int indexOf(SongNode song) {
+        Entry entry = song.positionEntry;
+        int index = count(entry.left);
+        // Every step up from a right child passes the parent and its left subtree
+        for (Entry child = entry, parent = entry.parent; parent != null; child = parent, parent = parent.parent) {
+            if (child == parent.right) {
+                index += count(parent.left) + 1;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Records a song inserted at the given position, shifting later songs back by one.
+     *
+     * @param index The position of the new song (0-based index)
+     * @param song  The song that was inserted
+     */
+    void insert(int index, SongNode song) {
+        Entry[] parts = split(root, index);
+        setRoot(merge(merge(parts[0], new Entry(song, random.nextInt())), parts[1]));
+    }
+
+    /**
+     * Forgets the song at the given position, shifting later songs forward by one.
+     *
+     * @param index The position of the removed song (0-based index)
+     */
+    void remove(int index) {
+        Entry[] before = split(root, index);
+        Entry[] after = split(before[1], 1);
+        setRoot(merge(before[0], after[1]));
+        after[0].song.positionEntry = null;
+    }
+
+    /**
+     * Forgets a song wherever it is, shifting the songs after it forward by one.
+     *
+     * @param song A song that is in the index
+     */
+    void remove(SongNode song) {
+        remove(indexOf(song));
+    }
+
+    /**
+     * Makes an entry the root of the tree.
+     */
+    private void setRoot(Entry entry) {
+        root = entry;
+        if (entry != null) {
+            entry.parent = null;
+        }
+    }
+
+    /**
+     * Splits a tree into its first n entries and the rest.
+     */
+    private static Entry[] split(Entry entry, int n) {
+        if (entry == null) {
+            return new Entry[] { null, null };
+        }
+        Entry[] parts;
+        if (n <= count(entry.left)) {
+            parts = split(entry.left, n);
+            entry.left = parts[1];
+            parts[1] = entry;
+        } else {
+            parts = split(entry.right, n - count(entry.left) - 1);
+            entry.right = parts[0];
+            parts[0] = entry;
+        }
+        update(entry);
+        return parts;
+    }
+
+    /**
+     * Joins two trees, placing every entry of the first before every entry of the second.
+     */
+    private static Entry merge(Entry first, Entry second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            update(first);
+            return first;
+        }
+        second.left = merge(first, second.left);
+        update(second);
+        return second;
+    }
+
+    private static int count(Entry entry) {
+        return entry == null ? 0 : entry.count;
+    }
+
+    private static long duration(Entry entry) {
+        return entry == null ? 0 : entry.duration;
+    }
+
+    /**
+     * Recomputes an entry's totals from its children and points the children back at it.
+     */
+    private static void update(Entry entry) {
+        entry.count = 1 + count(entry.left) + count(entry.right);
+        entry.duration = entry.song.duration + duration(entry.left) + duration(entry.right);
+        if (entry.left != null) {
+            entry.left.parent = entry;
+        }
+        if (entry.right != null) {
+            entry.right.parent = entry;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package linkedlists.playlist;
+
+/**
+ * The Song class holds the details of one song. On its own it has no links to other songs and is
+ * the element of the array-backed playlists; the linked playlists' nodes extend it with links.
+ * It is how every playlist hands songs in and out, so code using a playlist never sees its links.
+ * The details never change once the song is made, and the artist is interned so that every song
+ * by the same artist shares one string, which keeps large playlists small.
+ */
+public class Song {
+    // The title of the song
+    final String title;
+    // The artist of the song, interned
+    final String artist;
+    // The duration of the song in seconds
+    final int duration;
+
+    /**
+     * Constructs a song.
+     *
+     * @param title    The title of the song
+     * @param artist   The artist of the song
+     * @param duration The duration of the song in seconds
+     */
+    public Song(String title, String artist, int duration) {
+        this.title = title;
+        this.artist = (artist == null) ? null : artist.intern();
+        this.duration = duration;
+    }
+
+    /**
+     * Gets the title of the song.
+     *
+     * @return The title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Gets the artist of the song.
+     *
+     * @return The artist
+     */
+    public String getArtist() {
+        return artist;
+    }
+
+    /**
+     * Gets the duration of the song.
+     *
+     * @return The duration in seconds
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return title + " by " + artist + " (" + duration + "s)";
+    }
+}
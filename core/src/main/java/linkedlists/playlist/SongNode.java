@@ -0,0 +1,30 @@
+package linkedlists.playlist;
+
+/**
+ * The SongNode class is a node of a doubly linked playlist, holding one song and links to the
+ * songs before and after it.
+ * The song's details are the ones of the {@link Song} it extends, which never change.
+ */
+public final class SongNode extends Song {
+    // The previous song in the playlist
+    SongNode prev;
+    // The next song in the playlist
+    SongNode next;
+    // The song's entry in its playlist's position index, only kept up to date in indexed mode
+    PositionIndex.Entry positionEntry;
+    // The song's slot in its playlist's shuffle order, only kept up to date in shuffle play
+    int shuffleSlot;
+
+    /**
+     * Constructs a node for a song that is not yet linked into a playlist.
+     *
+     * @param title    The title of the song
+     * @param artist   The artist of the song
+     * @param duration The duration of the song in seconds
+     */
+    SongNode(String title, String artist, int duration) {
+        super(title, artist, duration);
+        this.prev = null;
+        this.next = null;
+    }
+}
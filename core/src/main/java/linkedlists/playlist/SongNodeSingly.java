@@ -0,0 +1,23 @@
+package linkedlists.playlist;
+
+/**
+ * The SongNodeSingly class is a node of a singly linked playlist, holding one song and a link to
+ * the song after it.
+ * The song's details are the ones of the {@link Song} it extends, which never change.
+ */
+public final class SongNodeSingly extends Song {
+    // The next song in the playlist
+    SongNodeSingly next;
+
+    /**
+     * Constructs a node for a song that is not yet linked into a playlist.
+     *
+     * @param title    The title of the song
+     * @param artist   The artist of the song
+     * @param duration The duration of the song in seconds
+     */
+    SongNodeSingly(String title, String artist, int duration) {
+        super(title, artist, duration);
+        this.next = null;
+    }
+}
@@ -0,0 +1,108 @@
+package linkedlists.playlist;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * The SongShuffler class holds the shuffling algorithms shared by the doubly linked playlists.
+ * Both produce every ordering of the songs with equal probability.
+ */
+final class SongShuffler {
+
+    private SongShuffler() {
+    }
+
+    /**
+     * Shuffles the songs linked from the given head with the Fisher-Yates algorithm, using the
+     * scratch array to hold them so that repeated shuffles do not allocate. The songs are left
+     * in the scratch array in their new order; the caller relinks them and then calls
+     * {@link #clear(SongNode[], int)}.
+     *
+     * @param head    The first song of the playlist
+     * @param size    The number of songs to shuffle
+     * @param scratch The array to reuse, which is replaced if it is too small
+     * @param random  The source of randomness
+     * @return The array holding the shuffled songs, which is the scratch array if it was big enough
+     */
+    static SongNode[] fisherYates(SongNode head, int size, SongNode[] scratch, RandomGenerator random) {
+        SongNode[] songs = scratch.length >= size ? scratch : new SongNode[size];
+        SongNode current = head;
+        for (int i = 0; i < size; i++) {
+            songs[i] = current;
+            current = current.next;
+        }
+        // Swap each song with one chosen from the songs not yet placed, itself included
+        for (int i = size - 1; i > 0; i--) {
+            int index = random.nextInt(i + 1);
+            SongNode temp = songs[index];
+            songs[index] = songs[i];
+            songs[i] = temp;
+        }
+        return songs;
+    }
+
+    /**
+     * Drops the references held by a scratch array so that removed songs can be collected.
+     *
+     * @param scratch The scratch array
+     * @param size    The number of entries that were used
+     */
+    static void clear(SongNode[] scratch, int size) {
+        Arrays.fill(scratch, 0, size, null);
+    }
+
+    /**
+     * Shuffles the songs linked from the given head by relinking them in place, without any array.
+     * The list is split in half, each half is shuffled, and the halves are merged by picking from
+     * each at random in proportion to the songs it has left. This takes O(n log n) time and
+     * O(log n) stack. Only the next links are set; the caller repairs the prev links.
+     *
+     * @param head   The first song of the playlist
+     * @param size   The number of songs to shuffle
+     * @param random The source of randomness
+     * @return The first song of the shuffled chain, whose last song has a null next link
+     */
+    static SongNode mergeShuffle(SongNode head, int size, RandomGenerator random) {
+        if (size <= 1) {
+            head.next = null;
+            return head;
+        }
+        // Cut the chain after its first half
+        int firstSize = size / 2;
+        SongNode middle = head;
+        for (int i = 1; i < firstSize; i++) {
+            middle = middle.next;
+        }
+        SongNode second = middle.next;
+        middle.next = null;
+
+        SongNode first = mergeShuffle(head, firstSize, random);
+        second = mergeShuffle(second, size - firstSize, random);
+
+        // Interleave the shuffled halves at random
+        int firstLeft = firstSize;
+        int secondLeft = size - firstSize;
+        SongNode shuffledHead = null;
+        SongNode last = null;
+        while (firstLeft + secondLeft > 0) {
+            SongNode next;
+            if (random.nextInt(firstLeft + secondLeft) < firstLeft) {
+                next = first;
+                first = first.next;
+                firstLeft--;
+            } else {
+                next = second;
+                second = second.next;
+                secondLeft--;
+            }
+            if (last == null) {
+                shuffledHead = next;
+            } else {
+                last.next = next;
+            }
+            last = next;
+        }
+        last.next = null;
+        return shuffledHead;
+    }
+}
@@ -0,0 +1,109 @@
+package linkedlists.playlist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The TitleIndex class maps song titles, ignoring case, to the nodes that hold them.
+ * It lets a playlist find or remove songs by title without scanning the whole list.
+ *
+ * @param <N> The type of node stored in the playlist
+ */
+class TitleIndex<N> {
+    // The nodes for each case-folded title, kept in the order they were added; songs without a
+    // title are kept under the null key, which no lookup reaches, as equalsIgnoreCase(null) is false
+    private final Map<String, Set<N>> nodesByTitle = new HashMap<>();
+
+    /**
+     * Records a node under its title.
+     *
+     * @param node  The node that was added to the playlist
+     * @param title The title of the song held by the node
+     */
+    void add(N node, String title) {
+        nodesByTitle.computeIfAbsent(storedKey(title), k -> new LinkedHashSet<>()).add(node);
+    }
+
+    /**
+     * Forgets a node that was removed from the playlist.
+     *
+     * @param node  The node that was removed from the playlist
+     * @param title The title of the song held by the node
+     */
+    void remove(N node, String title) {
+        String key = storedKey(title);
+        Set<N> nodes = nodesByTitle.get(key);
+        // The node may already be gone if its whole title was removed at once
+        if (nodes != null && nodes.remove(node) && nodes.isEmpty()) {
+            nodesByTitle.remove(key);
+        }
+    }
+
+    /**
+     * Forgets every node with the given title and returns them.
+     *
+     * @param title The title to remove
+     * @return The nodes that had the title, or an empty set if there were none
+     */
+    Set<N> removeTitle(String title) {
+        if (title == null) {
+            return Collections.emptySet();
+        }
+        Set<N> nodes = nodesByTitle.remove(key(title));
+        return nodes == null ? Collections.emptySet() : nodes;
+    }
+
+    /**
+     * Finds every node with the given title.
+     *
+     * @param title The title to look up
+     * @return The nodes that have the title, in the order they were added
+     */
+    List<N> find(String title) {
+        if (title == null) {
+            return new ArrayList<>();
+        }
+        Set<N> nodes = nodesByTitle.get(key(title));
+        return nodes == null ? new ArrayList<>() : new ArrayList<>(nodes);
+    }
+
+    /**
+     * Case-folds a title so that lookups ignore case like equalsIgnoreCase does.
+     */
+    private static String key(String title) {
+        return foldCase(title);
+    }
+
+    /**
+     * Gets the key a node is kept under, which is null for a song without a title.
+     */
+    private static String storedKey(String title) {
+        return title == null ? null : foldCase(title);
+    }
+
+    /**
+     * Case-folds text the same way equalsIgnoreCase compares it: each character is upper-cased
+     * and then lower-cased on its own. Two strings fold to the same text exactly when
+     * equalsIgnoreCase finds them equal, so an index keyed this way finds the same songs as a
+     * scan. String.toLowerCase does not have this property: it turns the dotted capital I
+     * (U+0130) into two characters, for example, so it keeps apart titles that equalsIgnoreCase
+     * treats as the same.
+     *
+     * @param text The text to fold
+     * @return The folded text
+     */
+    static String foldCase(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint)));
+            i += Character.charCount(codePoint);
+        }
+        return folded.toString();
+    }
+}
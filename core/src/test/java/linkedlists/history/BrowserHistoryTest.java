@@ -0,0 +1,168 @@
+package linkedlists.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link BrowserHistory}: recovering from a snapshot and a journal, the bounded
+ * history's least recently used order, and the navigation cursor, alone and together.
+ */
+class BrowserHistoryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoveryReplaysTheJournalOverTheSnapshot() throws IOException {
+        Path snapshot = directory.resolve("History.txt");
+        Path journal = directory.resolve("History.journal");
+        BrowserHistory history = BrowserHistory.recover(snapshot, journal);
+        history.addPage("a", 1_000);
+        history.addPage("b", 2_000);
+        history.addPage("c", 3_000);
+        assertEquals("a", history.back(2));
+        // Visiting from the first page drops the two ahead of it
+        history.visit("d", 4_000);
+        history.removeRange(1_000, 1_000);
+        history.addPage("e", 5_000);
+        history.closeJournal();
+        assertEquals(List.of("d", "e"), urls(history));
+
+        BrowserHistory recovered = BrowserHistory.recover(snapshot, journal);
+        assertEquals(List.of("d", "e"), urls(recovered));
+
+        // After a checkpoint the snapshot holds the pages and the journal only what came later
+        recovered.checkpoint();
+        recovered.addPage("f", 6_000);
+        recovered.closeJournal();
+        assertEquals(List.of("d", "e", "f"), urls(BrowserHistory.recover(snapshot, journal)));
+    }
+
+    @Test
+    void recoveryDropsARecordCutShort() throws IOException {
+        Path snapshot = directory.resolve("History.txt");
+        Path journal = directory.resolve("History.journal");
+        BrowserHistory history = BrowserHistory.recover(snapshot, journal);
+        history.addPage("a", 1_000);
+        history.addPage("b", 2_000);
+        history.closeJournal();
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        BrowserHistory recovered = BrowserHistory.recover(snapshot, journal);
+        assertEquals(List.of("a"), urls(recovered));
+        // The torn record is cut off, so records appended now are replayed next time
+        recovered.addPage("c", 3_000);
+        recovered.closeJournal();
+        assertEquals(List.of("a", "c"), urls(BrowserHistory.recover(snapshot, journal)));
+    }
+
+    @Test
+    void recoveryRejectsAJournalFromAnotherSnapshot() throws IOException {
+        Path journal = directory.resolve("History.journal");
+        try (HistoryJournal records = HistoryJournal.open(journal, new HistoryJournal.Replayer() {
+            @Override
+            public void add(String url, long timestamp) {
+            }
+
+            @Override
+            public void remove(long from, long to) {
+            }
+
+            @Override
+            public void truncate(int size) {
+            }
+        })) {
+            // Keeping three pages of a history that will only have one
+            records.appendAdd("a", 1_000);
+            records.appendTruncate(3);
+            records.sync();
+        }
+        assertThrows(IOException.class, () -> BrowserHistory.recover(directory.resolve("History.txt"), journal));
+    }
+
+    @Test
+    void boundedHistoryKeepsTheMostRecentlyVisitedPages() throws IOException {
+        BrowserHistory history = new BrowserHistory(directory.resolve("History.txt"), 3);
+        history.addPage("a", 1_000);
+        history.addPage("b", 2_000);
+        history.addPage("c", 3_000);
+        // Revisiting a page moves it to the end, and a full history drops its oldest page
+        history.addPage("a", 4_000);
+        assertEquals(List.of("b", "c", "a"), urls(history));
+        history.addPage("d", 5_000);
+        assertEquals(List.of("c", "a", "d"), urls(history));
+        assertEquals(3, history.size());
+        assertFalse(history.hasVisited("b"));
+        assertTrue(history.hasVisited("a"));
+        assertThrows(IllegalArgumentException.class, () -> new BrowserHistory(directory.resolve("x"), 0));
+    }
+
+    @Test
+    void cursorMovesWithinTheHistory() throws IOException {
+        BrowserHistory history = new BrowserHistory(directory.resolve("History.txt"));
+        assertNull(history.back(1));
+        for (int i = 1; i <= 5; i++) {
+            history.addPage("p" + i, i * 1_000L);
+        }
+        assertEquals("p5", history.getCurrentPage());
+        assertEquals("p3", history.back(2));
+        assertEquals("p4", history.forward(1));
+        assertEquals("p1", history.back(10));
+        assertEquals("p5", history.forward(10));
+
+        history.back(3);
+        history.visit("q", 6_000);
+        assertEquals(List.of("p1", "p2", "q"), urls(history));
+        assertEquals("q", history.getCurrentPage());
+        assertEquals("p2", history.back(1));
+    }
+
+    @Test
+    void cursorKeepsItsPlaceWhenTheBoundedHistoryDropsPages() throws IOException {
+        Path snapshot = directory.resolve("History.txt");
+        Path journal = directory.resolve("History.journal");
+        BrowserHistory history = BrowserHistory.recover(snapshot, journal, 3);
+        history.addPage("a", 1_000);
+        history.addPage("b", 2_000);
+        history.addPage("c", 3_000);
+        assertEquals("b", history.back(1));
+        // Adding d drops a from the front, which moves the cursor's page to the first place
+        history.addPage("d", 4_000);
+        assertEquals("b", history.back(5));
+        assertEquals("c", history.forward(1));
+        // The visit's truncate record must count from the cursor's new place
+        history.visit("e", 5_000);
+        assertEquals(List.of("b", "c", "e"), urls(history));
+        history.closeJournal();
+        assertEquals(List.of("b", "c", "e"), urls(BrowserHistory.recover(snapshot, journal, 3)));
+    }
+
+    /**
+     * Gets the URLs of a history in order by saving it to a file and reading the file back.
+     */
+    private List<String> urls(BrowserHistory history) throws IOException {
+        List<String> urls = new ArrayList<>();
+        if (history.size() == 0) {
+            return urls;
+        }
+        Path file = Files.createTempFile(directory, "urls", ".txt");
+        history.saveHistoryToFile(file);
+        BrowserHistory.readText(file, (url, timestamp) -> urls.add(url));
+        return urls;
+    }
+}
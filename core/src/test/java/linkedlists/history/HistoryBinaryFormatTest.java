@@ -0,0 +1,132 @@
+package linkedlists.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link HistoryBinaryFormat}. A history of a little over three blocks is written once;
+ * it must read back as it was, and damaging it in different ways must cost only the damaged
+ * block, end the read at a torn tail, or fail outright when a header cannot be trusted.
+ */
+class HistoryBinaryFormatTest {
+    // Entries written, enough for three full blocks and a short fourth one
+    private static final int ENTRIES = 3 * HistoryBinaryFormat.BLOCK_ENTRIES + 100;
+    // Bytes before the first block: the magic number and the version
+    private static final int FILE_HEADER = Integer.BYTES + 1;
+
+    // The written history, the entries it holds, and where each block starts
+    private static byte[] file;
+    private static List<String> written;
+    private static List<Integer> blocks;
+
+    @BeforeAll
+    static void writeHistory() throws IOException {
+        written = new ArrayList<>();
+        HistoryNode head = null;
+        HistoryNode tail = null;
+        for (int i = 0; i < ENTRIES; i++) {
+            // Repeat the URLs so the dictionaries are used, and go back in time now and then
+            HistoryNode node = new HistoryNode("https://example.com/" + (i % 500), 1_000L * i - (i % 7 == 0 ? 5_000 : 0));
+            written.add(node.url + "," + node.timestamp);
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+                node.prev = tail;
+            }
+            tail = node;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HistoryBinaryFormat.write(head, out);
+        file = out.toByteArray();
+
+        blocks = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.wrap(file);
+        for (int at = FILE_HEADER; at < file.length; at += 3 * Integer.BYTES + buffer.getInt(at + Integer.BYTES) + Integer.BYTES) {
+            blocks.add(at);
+        }
+    }
+
+    @Test
+    void roundTripKeepsEveryEntryInOrder() throws IOException {
+        assertEquals(4, blocks.size());
+        List<String> read = new ArrayList<>();
+        assertEquals(0, read(file, read));
+        assertEquals(written, read);
+    }
+
+    @Test
+    void emptyHistoryRoundTrips() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HistoryBinaryFormat.write(null, out);
+        List<String> read = new ArrayList<>();
+        assertEquals(0, read(out.toByteArray(), read));
+        assertEquals(List.of(), read);
+    }
+
+    @Test
+    void damagedPayloadCostsOnlyItsBlock() throws IOException {
+        byte[] damaged = file.clone();
+        damaged[blocks.get(1) + 40] ^= 1;
+        List<String> read = new ArrayList<>();
+        assertEquals(HistoryBinaryFormat.BLOCK_ENTRIES, read(damaged, read));
+        List<String> expected = new ArrayList<>(written.subList(0, HistoryBinaryFormat.BLOCK_ENTRIES));
+        expected.addAll(written.subList(2 * HistoryBinaryFormat.BLOCK_ENTRIES, ENTRIES));
+        assertEquals(expected, read);
+    }
+
+    @Test
+    void damagedHeaderFailsTheRead() {
+        byte[] damaged = file.clone();
+        // Flip a bit of the second block's length, which its header checksum no longer matches
+        damaged[blocks.get(1) + Integer.BYTES + 3] ^= 1;
+        assertThrows(IOException.class, () -> read(damaged, new ArrayList<>()));
+
+        // A huge length is rejected the same way rather than trusted
+        byte[] huge = file.clone();
+        huge[blocks.get(1) + Integer.BYTES] = 0x7F;
+        assertThrows(IOException.class, () -> read(huge, new ArrayList<>()));
+    }
+
+    @Test
+    void tornTailEndsTheRead() throws IOException {
+        // The last block cut short loses its entries and keeps the rest
+        List<String> read = new ArrayList<>();
+        assertEquals(100, read(Arrays.copyOf(file, file.length - 10), read));
+        assertEquals(written.subList(0, 3 * HistoryBinaryFormat.BLOCK_ENTRIES), read);
+
+        // A header cut short loses nothing that was written before it
+        read.clear();
+        assertEquals(0, read(Arrays.copyOf(file, blocks.get(3) + 6), read));
+        assertEquals(written.subList(0, 3 * HistoryBinaryFormat.BLOCK_ENTRIES), read);
+    }
+
+    @Test
+    void otherFilesAreRejected() {
+        byte[] notHistory = "url,timestamp\n".getBytes();
+        assertThrows(IOException.class, () -> read(notHistory, new ArrayList<>()));
+
+        byte[] newer = file.clone();
+        newer[Integer.BYTES] = HistoryBinaryFormat.VERSION + 1;
+        assertThrows(IOException.class, () -> read(newer, new ArrayList<>()));
+    }
+
+    /**
+     * Reads a history from bytes, adding each entry to the list as "url,timestamp".
+     */
+    private static long read(byte[] bytes, List<String> entries) throws IOException {
+        return HistoryBinaryFormat.read(new ByteArrayInputStream(bytes), bytes.length,
+                (url, timestamp) -> entries.add(url + "," + timestamp));
+    }
+}
@@ -0,0 +1,241 @@
+package linkedlists.playlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stress tests for {@link ConcurrentPlaylist}. Editor threads add and remove songs while a
+ * player thread moves the cursor and a reader thread takes snapshots; afterwards the size, the
+ * total duration and every prev and next link must agree with what the threads did.
+ * The number of operations per thread can be raised with {@code -Dstress.operations=N}, for
+ * example {@code mvn -pl core test -Dtest=ConcurrentPlaylistStressTest -Dstress.operations=1000000}.
+ */
+class ConcurrentPlaylistStressTest {
+    // Operations each thread performs
+    private static final int OPERATIONS = Integer.getInteger("stress.operations", 20_000);
+    // Threads adding and removing songs
+    private static final int EDITORS = 4;
+    // Distinct titles, so removing by title hits several songs at once
+    private static final int TITLES = 16;
+
+    @Test
+    void concurrentEditsAndPlaybackKeepSizeDurationAndLinksConsistent() throws Exception {
+        ConcurrentPlaylist playlist = new ConcurrentPlaylist();
+        // What the editors added and removed, to compare with the playlist at the end
+        AtomicLong addedSongs = new AtomicLong();
+        AtomicLong addedDuration = new AtomicLong();
+        AtomicLong removedSongs = new AtomicLong();
+        AtomicLong removedDuration = new AtomicLong();
+        // Ticks once for each song removed by a filter, while the write lock is held
+        AtomicLong removals = new AtomicLong();
+        // The tick at which each song was removed by a filter
+        Map<SongNode, Long> removedAt = new ConcurrentHashMap<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int e = 0; e < EDITORS; e++) {
+            threads.add(worker(start, failure, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS; i++) {
+                    int duration = 1 + random.nextInt(300);
+                    int choice = random.nextInt(10);
+                    if (choice < 6) {
+                        playlist.addSong("Song " + random.nextInt(TITLES), "Artist", duration);
+                        addedSongs.incrementAndGet();
+                        addedDuration.addAndGet(duration);
+                    } else if (choice < 7) {
+                        if (playlist.addSongAtPosition("Song " + random.nextInt(TITLES), "Artist", duration, 1)) {
+                            addedSongs.incrementAndGet();
+                            addedDuration.addAndGet(duration);
+                        }
+                    } else if (choice < 9) {
+                        SongNode removed = playlist.removeSongByPosition(1 + random.nextInt(Math.max(1, playlist.size())));
+                        if (removed != null) {
+                            removedSongs.incrementAndGet();
+                            removedDuration.addAndGet(removed.duration);
+                        }
+                    } else {
+                        // The filter runs under the write lock, so it can note exactly when each song goes
+                        String title = "Song " + random.nextInt(TITLES);
+                        playlist.removeIf(song -> {
+                            if (!song.title.equals(title)) {
+                                return false;
+                            }
+                            removedAt.put((SongNode) song, removals.incrementAndGet());
+                            removedSongs.incrementAndGet();
+                            removedDuration.addAndGet(song.duration);
+                            return true;
+                        });
+                    }
+                }
+            }));
+        }
+
+        // The player must never land on a song that was removed before it started to move
+        threads.add(worker(start, failure, () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < OPERATIONS * 2; i++) {
+                long before = removals.get();
+                SongNode song = random.nextInt(4) == 0 ? playlist.playPrevious() : playlist.playNext();
+                if (song != null) {
+                    Long tick = removedAt.get(song);
+                    assertTrue(tick == null || tick > before, "cursor landed on a song removed before the move: " + song);
+                }
+            }
+        }));
+
+        // Snapshots must always be whole: no song twice, and none missing its title
+        threads.add(worker(start, failure, () -> {
+            for (int i = 0; i < OPERATIONS / 10; i++) {
+                List<SongNode> snapshot = playlist.snapshot();
+                Map<SongNode, Boolean> seen = new IdentityHashMap<>();
+                for (SongNode song : snapshot) {
+                    assertNull(seen.put(song, Boolean.TRUE), "song appears twice in a snapshot");
+                    assertTrue(song.title.startsWith("Song "));
+                }
+            }
+        }));
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("A stress thread failed", failure.get());
+        }
+
+        long expectedSize = addedSongs.get() - removedSongs.get();
+        long expectedDuration = addedDuration.get() - removedDuration.get();
+        assertEquals(expectedSize, playlist.size());
+        assertEquals(expectedDuration, playlist.getTotalDuration());
+        assertLinksConsistent(playlist, (int) expectedSize, expectedDuration);
+    }
+
+    @Test
+    void cursorStepsOffRemovedSongs() {
+        ConcurrentPlaylist playlist = new ConcurrentPlaylist();
+        for (int i = 1; i <= 6; i++) {
+            playlist.addSong("Song " + i, "Artist", i);
+        }
+        // Put the cursor on song 3, then remove it and the song after it
+        playlist.playNext();
+        playlist.playNext();
+        SongNode third = playlist.playNext();
+        assertEquals("Song 3", third.title);
+        playlist.removeSongByPosition(3);
+        playlist.removeSongByTitle("Song 4");
+        assertSame(third, playlist.getCurrentSong());
+        assertEquals("Song 5", playlist.playNext().title);
+
+        // Put the cursor on song 5, then remove it and the song before it
+        playlist.removeSongByTitle("Song 5");
+        playlist.removeSongByTitle("Song 2");
+        assertEquals("Song 1", playlist.playPrevious().title);
+
+        // Removing every song sends the cursor back to the start once songs are added again
+        playlist.removeIf(song -> true);
+        assertNull(playlist.playNext());
+        playlist.addSong("Song 7", "Artist", 7);
+        assertEquals("Song 7", playlist.playNext().title);
+        assertLinksConsistent(playlist, 1, 7);
+    }
+
+    @Test
+    void concurrentPlayersNeverLoseAStep() throws Exception {
+        // With no edits, the cursor must end up as many songs along as the players stepped in total
+        int songs = 7;
+        ConcurrentPlaylist playlist = new ConcurrentPlaylist();
+        for (int i = 0; i < songs; i++) {
+            playlist.addSong("Song " + i, "Artist", 1);
+        }
+        int players = 4;
+        int forward = OPERATIONS;
+        int back = OPERATIONS / 4;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < players; p++) {
+            threads.add(worker(start, failure, () -> {
+                for (int i = 0; i < forward; i++) {
+                    playlist.playNext();
+                }
+                for (int i = 0; i < back; i++) {
+                    playlist.playPrevious();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        if (failure.get() != null) {
+            throw new AssertionError("A player thread failed", failure.get());
+        }
+        // The first step lands on song 0, so the cursor is one short of the steps taken
+        long steps = (long) players * (forward - back) - 1;
+        assertEquals("Song " + Math.floorMod(steps, songs), playlist.getCurrentSong().title);
+    }
+
+    /**
+     * Walks the circle from the first song and checks that it holds the given number of songs
+     * and total duration, that each song's next links back to it through prev, and that a
+     * snapshot lists the same songs in the same order.
+     */
+    private static void assertLinksConsistent(ConcurrentPlaylist playlist, int size, long duration) {
+        List<SongNode> snapshot = playlist.snapshot();
+        assertEquals(size, snapshot.size());
+        SongNode first = playlist.getFirstSong();
+        if (size == 0) {
+            assertNull(first);
+            return;
+        }
+        SongNode last = playlist.getLastSong();
+        assertSame(last, first.prev);
+        assertSame(first, last.next);
+        long total = 0;
+        SongNode node = first;
+        for (int i = 0; i < size; i++) {
+            assertSame(snapshot.get(i), node, "snapshot differs from the links at position " + (i + 1));
+            assertSame(node, node.next.prev, "next and prev disagree at position " + (i + 1));
+            total += node.duration;
+            node = node.next;
+        }
+        assertSame(first, node, "the circle does not close after " + size + " songs");
+        assertEquals(duration, total);
+    }
+
+    /**
+     * Makes a thread that waits for the start signal, runs the body, and records the first failure.
+     */
+    private static Thread worker(CountDownLatch start, AtomicReference<Throwable> failure, Runnable body) {
+        return new Thread(() -> {
+            try {
+                start.await();
+                body.run();
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        });
+    }
+}
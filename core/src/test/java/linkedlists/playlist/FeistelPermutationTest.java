@@ -0,0 +1,77 @@
+package linkedlists.playlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link FeistelPermutation}: every size maps its indices one to one, and stepping the
+ * network's range keeps the same order when the domain grows.
+ */
+class FeistelPermutationTest {
+    // Seeds each check is run with
+    private static final long[] SEEDS = { 0L, 1L, -7L, 0x9E3779B97F4A7C15L };
+
+    @Test
+    void applyIsABijectionForEverySize() {
+        for (long seed : SEEDS) {
+            for (int size = 1; size <= 300; size++) {
+                FeistelPermutation permutation = new FeistelPermutation(size, seed);
+                boolean[] seen = new boolean[size];
+                for (int i = 0; i < size; i++) {
+                    int mapped = permutation.apply(i);
+                    assertTrue(mapped >= 0 && mapped < size, "index out of range for size " + size);
+                    assertFalse(seen[mapped], "index " + mapped + " reached twice for size " + size);
+                    seen[mapped] = true;
+                }
+            }
+        }
+    }
+
+    @Test
+    void scrambleIsABijectionOverTheRange() {
+        for (long seed : SEEDS) {
+            for (int size : new int[] { 1, 5, 16, 17, 1000 }) {
+                FeistelPermutation permutation = new FeistelPermutation(size, seed);
+                long range = permutation.range();
+                assertTrue(range >= size && Long.bitCount(range) == 1, "range is not a covering power of two");
+                boolean[] seen = new boolean[(int) range];
+                for (long value = 0; value < range; value++) {
+                    int mapped = (int) permutation.scramble(value);
+                    assertFalse(seen[mapped], "value " + mapped + " reached twice");
+                    seen[mapped] = true;
+                }
+            }
+        }
+    }
+
+    @Test
+    void steppingTheRangeKeepsTheOrderAsTheDomainGrows() {
+        FeistelPermutation permutation = new FeistelPermutation(40, 3L);
+        List<Long> small = visit(permutation, 20);
+        List<Long> grown = visit(permutation, 40);
+        // The grown order is the small one with the new values slotted in between
+        grown.removeIf(value -> value >= 20);
+        assertEquals(small, grown);
+    }
+
+    /**
+     * Steps through the network's range and keeps the values below the domain.
+     */
+    private static List<Long> visit(FeistelPermutation permutation, int domain) {
+        List<Long> order = new ArrayList<>();
+        for (long step = 0; step < permutation.range(); step++) {
+            long value = permutation.scramble(step);
+            if (value < domain) {
+                order.add(value);
+            }
+        }
+        assertEquals(domain, order.size());
+        return order;
+    }
+}
@@ -0,0 +1,190 @@
+package linkedlists.playlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for moving runs of songs between playlists with splitAt, moveRange and concat, in and
+ * out of indexed mode, and for the playback cursor and shuffle order while songs come and go.
+ * Each song is named by its number and lasts that many seconds, so the order and the durations
+ * can both be checked against a plain list of numbers.
+ */
+class PlaylistRangeTest {
+
+    @Test
+    void enhancedPlaylistMovesRuns() {
+        for (int mode = 0; mode < 4; mode++) {
+            boolean indexed = (mode & 1) != 0;
+            boolean destIndexed = (mode & 2) != 0;
+            EnhancedPlaylist playlist = enhanced(indexed, 1, 10);
+            EnhancedPlaylist dest = enhanced(destIndexed, 11, 12);
+
+            assertTrue(playlist.moveRange(3, 5, dest));
+            assertSongs(List.of(1, 2, 6, 7, 8, 9, 10), playlist);
+            assertSongs(List.of(11, 12, 3, 4, 5), dest);
+            assertFalse(playlist.moveRange(3, 8, dest));
+
+            EnhancedPlaylist rest = playlist.splitAt(4);
+            assertSongs(List.of(1, 2, 6), playlist);
+            assertSongs(List.of(7, 8, 9, 10), rest);
+            assertNull(playlist.splitAt(5));
+            assertSongs(List.of(), playlist.splitAt(4));
+
+            playlist.concat(dest);
+            assertSongs(List.of(1, 2, 6, 11, 12, 3, 4, 5), playlist);
+            assertSongs(List.of(), dest);
+            // The emptied playlist still takes songs, and in the right place in its index
+            dest.addSong("13", "Artist", 13);
+            dest.addSongAtPosition("14", "Artist", 14, 1);
+            assertSongs(List.of(14, 13), dest);
+        }
+    }
+
+    @Test
+    void fullyFunctionalPlaylistMovesRuns() {
+        for (int mode = 0; mode < 4; mode++) {
+            boolean indexed = (mode & 1) != 0;
+            boolean destIndexed = (mode & 2) != 0;
+            FullyFunctionalPlaylist playlist = fullyFunctional(indexed, 1, 10);
+            FullyFunctionalPlaylist dest = fullyFunctional(destIndexed, 11, 12);
+
+            assertTrue(playlist.moveRange(3, 5, dest));
+            assertSongs(List.of(1, 2, 6, 7, 8, 9, 10), playlist);
+            assertSongs(List.of(11, 12, 3, 4, 5), dest);
+
+            FullyFunctionalPlaylist rest = playlist.splitAt(4);
+            assertSongs(List.of(1, 2, 6), playlist);
+            assertSongs(List.of(7, 8, 9, 10), rest);
+
+            playlist.concat(dest);
+            assertSongs(List.of(1, 2, 6, 11, 12, 3, 4, 5), playlist);
+            assertSongs(List.of(), dest);
+            dest.addSong("13", "Artist", 13);
+            dest.addSongAtPosition("14", "Artist", 14, 1);
+            assertSongs(List.of(14, 13), dest);
+        }
+    }
+
+    @Test
+    void cursorStepsBackWhenItsSongIsMoved() {
+        for (boolean indexed : new boolean[] { false, true }) {
+            EnhancedPlaylist enhanced = enhanced(indexed, 1, 8);
+            FullyFunctionalPlaylist fullyFunctional = fullyFunctional(indexed, 1, 8);
+            for (int i = 0; i < 4; i++) {
+                enhanced.playNext();
+                fullyFunctional.playNext();
+            }
+            // Song 4 is playing; moving songs 3 to 5 away leaves the cursor before song 6
+            enhanced.moveRange(3, 5, new EnhancedPlaylist());
+            fullyFunctional.moveRange(3, 5, new FullyFunctionalPlaylist());
+            assertEquals("6", enhanced.playNext().title);
+            assertEquals("6", fullyFunctional.playNext().title);
+
+            // A cursor outside the run stays where it is
+            enhanced.moveRange(1, 1, new EnhancedPlaylist());
+            fullyFunctional.moveRange(1, 1, new FullyFunctionalPlaylist());
+            assertEquals("7", enhanced.playNext().title);
+            assertEquals("7", fullyFunctional.playNext().title);
+        }
+    }
+
+    @Test
+    void shufflePlayNeverRepeatsASongInOnePass() {
+        for (boolean indexed : new boolean[] { false, true }) {
+            FullyFunctionalPlaylist playlist = fullyFunctional(indexed, 1, 40);
+            playlist.toggleShufflePlay();
+            Set<String> played = new HashSet<>();
+            Set<String> removed = new HashSet<>();
+            int next = 41;
+            SongNode song;
+            for (int step = 0; (song = playlist.playNext()) != null; step++) {
+                assertTrue(played.add(song.title), "song " + song.title + " played twice");
+                assertFalse(removed.contains(song.title), "removed song " + song.title + " played");
+                // Every third step, remove a song and add one, up to the spare room of the order
+                if (step % 3 == 0 && next <= 70) {
+                    SongNode gone = playlist.getSongAtOffset(playlist.getElapsedBefore(1 + step % playlist.size()));
+                    removed.add(gone.title);
+                    playlist.removeSongByPosition(1 + step % playlist.size());
+                    playlist.addSongAtPosition(String.valueOf(next), "Artist", next, 1 + step % playlist.size());
+                    next++;
+                }
+            }
+            // Every song that was there when shuffle play began and was never removed got played
+            for (int number = 1; number <= 40; number++) {
+                String title = String.valueOf(number);
+                assertTrue(played.contains(title) || removed.contains(title), "song " + title + " never played");
+            }
+        }
+    }
+
+    /**
+     * Makes an enhanced playlist of the songs numbered from first to last.
+     */
+    private static EnhancedPlaylist enhanced(boolean indexed, int first, int last) {
+        EnhancedPlaylist playlist = new EnhancedPlaylist();
+        if (indexed) {
+            playlist.enableIndexedMode();
+        }
+        for (int number = first; number <= last; number++) {
+            playlist.addSong(String.valueOf(number), "Artist", number);
+        }
+        return playlist;
+    }
+
+    /**
+     * Makes a fully functional playlist of the songs numbered from first to last.
+     */
+    private static FullyFunctionalPlaylist fullyFunctional(boolean indexed, int first, int last) {
+        FullyFunctionalPlaylist playlist = new FullyFunctionalPlaylist();
+        if (indexed) {
+            playlist.enableIndexedMode();
+        }
+        for (int number = first; number <= last; number++) {
+            playlist.addSong(String.valueOf(number), "Artist", number);
+        }
+        return playlist;
+    }
+
+    /**
+     * Checks the songs of an enhanced playlist by position, with their elapsed times and total.
+     */
+    private static void assertSongs(List<Integer> expected, EnhancedPlaylist playlist) {
+        List<Integer> actual = new ArrayList<>();
+        long elapsed = 0;
+        for (int position = 1; position <= playlist.size(); position++) {
+            assertEquals(elapsed, playlist.getElapsedBefore(position));
+            SongNode song = playlist.getSong(position);
+            actual.add(Integer.valueOf(song.title));
+            elapsed += song.duration;
+        }
+        assertEquals(expected, actual);
+        assertEquals(elapsed, playlist.getTotalDuration());
+        assertEquals(elapsed, playlist.getElapsedBefore(playlist.size() + 1));
+    }
+
+    /**
+     * Checks the songs of a fully functional playlist, finding each one by the time it starts.
+     */
+    private static void assertSongs(List<Integer> expected, FullyFunctionalPlaylist playlist) {
+        List<Integer> actual = new ArrayList<>();
+        long elapsed = 0;
+        for (int position = 1; position <= playlist.size(); position++) {
+            assertEquals(elapsed, playlist.getElapsedBefore(position));
+            SongNode song = playlist.getSongAtOffset(elapsed);
+            actual.add(Integer.valueOf(song.title));
+            elapsed += song.duration;
+        }
+        assertEquals(expected, actual);
+        assertEquals(elapsed, playlist.getTotalDuration());
+        assertEquals(elapsed, playlist.getElapsedBefore(playlist.size() + 1));
+    }
+}
@@ -0,0 +1,134 @@
+package linkedlists.playlist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PositionIndex}. Random inserts, removals, cuts and appends are made to the
+ * index and to a plain list side by side; after each one every position, every song's own
+ * position and the durations before each position must agree with the list.
+ */
+class PositionIndexTest {
+    // Changes made in each randomized run
+    private static final int OPERATIONS = 2_000;
+
+    // Number of songs made so far, for distinct titles
+    private int made;
+
+    @Test
+    void buildIndexesEverySongInOrder() {
+        List<SongNode> songs = chain(50);
+        PositionIndex index = PositionIndex.build(songs.get(0), songs.size());
+        assertMatches(songs, index);
+        assertEquals(0, PositionIndex.build(null, 0).size());
+    }
+
+    @Test
+    void randomChangesMatchAList() {
+        SplittableRandom random = new SplittableRandom(1);
+        List<SongNode> songs = chain(20);
+        PositionIndex index = PositionIndex.build(songs.get(0), songs.size());
+        for (int i = 0; i < OPERATIONS; i++) {
+            int choice = random.nextInt(6);
+            if (choice == 0) {
+                SongNode song = song(random);
+                int at = random.nextInt(songs.size() + 1);
+                index.insert(at, song);
+                songs.add(at, song);
+            } else if (choice == 1) {
+                List<SongNode> run = chain(random.nextInt(1, 8));
+                int at = random.nextInt(songs.size() + 1);
+                index.insertAll(at, run.get(0), run.size());
+                songs.addAll(at, run);
+            } else if (choice == 2 && !songs.isEmpty()) {
+                int at = random.nextInt(songs.size());
+                index.remove(at);
+                assertNull(songs.remove(at).positionEntry, "a removed song keeps its entry");
+            } else if (choice == 3 && !songs.isEmpty()) {
+                SongNode song = songs.remove(random.nextInt(songs.size()));
+                index.remove(song);
+            } else if (choice == 4 && !songs.isEmpty()) {
+                // Cut a run out and append it back at the end
+                int at = random.nextInt(songs.size());
+                int count = random.nextInt(1, songs.size() - at + 1);
+                PositionIndex run = index.cut(at, count);
+                List<SongNode> cut = new ArrayList<>(songs.subList(at, at + count));
+                songs.subList(at, at + count).clear();
+                assertMatches(cut, run);
+                assertMatches(songs, index);
+                index.append(run);
+                songs.addAll(cut);
+                assertEquals(0, run.size());
+            } else {
+                // Append another index built over a fresh run
+                List<SongNode> run = chain(random.nextInt(0, 5));
+                PositionIndex other = PositionIndex.build(run.isEmpty() ? null : run.get(0), run.size());
+                index.append(other);
+                songs.addAll(run);
+            }
+            assertMatches(songs, index);
+        }
+    }
+
+    @Test
+    void offsetsFindTheSongPlaying() {
+        List<SongNode> songs = chain(30);
+        PositionIndex index = PositionIndex.build(songs.get(0), songs.size());
+        long offset = 0;
+        for (int i = 0; i < songs.size(); i++) {
+            int duration = songs.get(i).duration;
+            assertEquals(i, index.indexAtOffset(offset));
+            assertEquals(i, index.indexAtOffset(offset + duration - 1));
+            offset += duration;
+        }
+        assertEquals(-1, index.indexAtOffset(offset));
+        assertEquals(-1, index.indexAtOffset(-1));
+    }
+
+    /**
+     * Checks that the index holds the songs of the list in order, that each song finds its own
+     * position, and that the durations before each position add up.
+     */
+    private static void assertMatches(List<SongNode> songs, PositionIndex index) {
+        assertEquals(songs.size(), index.size());
+        long before = 0;
+        for (int i = 0; i < songs.size(); i++) {
+            SongNode song = songs.get(i);
+            assertSame(song, index.get(i), "wrong song at position " + i);
+            assertEquals(i, index.indexOf(song), "wrong position for " + song.title);
+            assertEquals(before, index.durationBefore(i), "wrong duration before position " + i);
+            before += song.duration;
+        }
+        assertEquals(before, index.durationBefore(songs.size()));
+    }
+
+    /**
+     * Makes a run of new songs linked through next, the way a playlist hands them to the index.
+     */
+    private List<SongNode> chain(int count) {
+        List<SongNode> songs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SongNode song = new SongNode("Song " + made, "Artist", 1 + made % 7);
+            made++;
+            if (i > 0) {
+                songs.get(i - 1).next = song;
+            }
+            songs.add(song);
+        }
+        return songs;
+    }
+
+    /**
+     * Makes one new song with a random duration.
+     */
+    private SongNode song(SplittableRandom random) {
+        return new SongNode("Song " + made++, "Artist", random.nextInt(1, 300));
+    }
+}
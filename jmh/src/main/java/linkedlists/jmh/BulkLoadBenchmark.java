@@ -0,0 +1,96 @@
+package linkedlists.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import linkedlists.playlist.BasicPlayList;
+import linkedlists.playlist.Song;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The BulkLoadBenchmark class times loading a catalog into a {@link BasicPlayList} one song at a
+ * time, at the end and through the bounds-checked insert, and in one batch. The playlist keeps
+ * its tail and size, so each add is constant time and a load is linear in the number of songs:
+ * the time for each catalog size should grow by the same factor as the size does.
+ * Run it with {@code java -jar jmh/target/benchmarks.jar BulkLoadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkLoadBenchmark {
+    // The number of songs in the catalog; each step is ten times the one before
+    @Param({ "5000", "50000", "500000" })
+    public int songs;
+
+    // The titles of the catalog, made up front so the benchmark only times the playlist
+    private String[] titles;
+    // The catalog as songs, for the batch load
+    private List<Song> catalog;
+
+    /**
+     * Makes the catalog once for each catalog size.
+     */
+    @Setup
+    public void makeCatalog() {
+        titles = new String[songs];
+        catalog = new ArrayList<>(songs);
+        for (int i = 0; i < songs; i++) {
+            titles[i] = "Song " + i;
+            catalog.add(new Song(titles[i], "Artist", 180));
+        }
+    }
+
+    /**
+     * Appends every song with addSong.
+     *
+     * @return The loaded playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public BasicPlayList append() {
+        BasicPlayList playlist = new BasicPlayList();
+        for (String title : titles) {
+            playlist.addSong(title, "Artist", 180);
+        }
+        return playlist;
+    }
+
+    /**
+     * Appends every song with addSongAtPosition, which checks the position against the size.
+     *
+     * @return The loaded playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public BasicPlayList insertAtEnd() {
+        BasicPlayList playlist = new BasicPlayList();
+        for (String title : titles) {
+            playlist.addSongAtPosition(title, "Artist", 180, playlist.size() + 1);
+        }
+        return playlist;
+    }
+
+    /**
+     * Appends the whole catalog with one addAll.
+     *
+     * @return The loaded playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public BasicPlayList addAll() {
+        BasicPlayList playlist = new BasicPlayList();
+        playlist.addAll(catalog);
+        return playlist;
+    }
+}
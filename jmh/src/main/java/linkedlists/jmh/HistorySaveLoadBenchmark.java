@@ -0,0 +1,139 @@
+package linkedlists.jmh;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import linkedlists.history.BrowserHistory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The HistorySaveLoadBenchmark class times saving a {@link BrowserHistory} to a file and loading
+ * it back, in the text format and in the binary format. Each save streams through a buffer into
+ * a temporary file, forces it to disk and moves it over the old one, so the times include the
+ * fsync a crash-safe save needs. Dividing the number of pages by the time gives the pages per
+ * second; the setup prints each file's size so the bytes per second can be worked out as well.
+ * Run it with {@code java -jar jmh/target/benchmarks.jar HistorySaveLoadBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistorySaveLoadBenchmark {
+    // The number of pages in the history
+    @Param({ "100000", "1000000" })
+    public int pages;
+
+    // The directory the files are written to, removed when the benchmark ends
+    private Path directory;
+    // The history that is saved
+    private BrowserHistory history;
+    // Files saved once in setup, for the loads to read
+    private Path savedText;
+    private Path savedBinary;
+    // Files the saves replace on every call
+    private Path textTarget;
+    private Path binaryTarget;
+
+    /**
+     * Builds the history and saves it once in each format for the loads.
+     *
+     * @throws IOException If the files cannot be written
+     */
+    @Setup
+    public void makeHistory() throws IOException {
+        directory = Files.createTempDirectory("history-benchmark");
+        history = new BrowserHistory(directory.resolve("History.txt"));
+        long start = 1_700_000_000_000L;
+        for (int i = 0; i < pages; i++) {
+            // One page a second, so every page has its own timestamp
+            history.addPage("https://www.example.com/articles/" + i, start + i * 1000L);
+        }
+        savedText = directory.resolve("saved.txt");
+        savedBinary = directory.resolve("saved.bin");
+        history.saveHistoryToFile(savedText);
+        history.saveHistoryToBinaryFile(savedBinary);
+        textTarget = directory.resolve("target.txt");
+        binaryTarget = directory.resolve("target.bin");
+        System.out.println();
+        System.out.println("Text file: " + Files.size(savedText) + " bytes, binary file: "
+                + Files.size(savedBinary) + " bytes");
+    }
+
+    /**
+     * Deletes the files written by the benchmark.
+     *
+     * @throws IOException If a file cannot be deleted
+     */
+    @TearDown
+    public void deleteFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Saves the history as text, replacing the file.
+     *
+     * @return Whether anything was saved, so the work cannot be dropped as unused
+     * @throws IOException If the file cannot be written
+     */
+    @Benchmark
+    public boolean saveText() throws IOException {
+        return history.saveHistoryToFile(textTarget);
+    }
+
+    /**
+     * Loads the text file into an empty history.
+     *
+     * @return The loaded history, so the work cannot be dropped as unused
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public BrowserHistory loadText() throws IOException {
+        BrowserHistory loaded = new BrowserHistory(savedText);
+        loaded.loadHistoryFromFile(savedText);
+        return loaded;
+    }
+
+    /**
+     * Saves the history in the binary format, replacing the file.
+     *
+     * @return Whether anything was saved, so the work cannot be dropped as unused
+     * @throws IOException If the file cannot be written
+     */
+    @Benchmark
+    public boolean saveBinary() throws IOException {
+        return history.saveHistoryToBinaryFile(binaryTarget);
+    }
+
+    /**
+     * Loads the binary file into an empty history.
+     *
+     * @return The loaded history, so the work cannot be dropped as unused
+     * @throws IOException If the file cannot be read
+     */
+    @Benchmark
+    public BrowserHistory loadBinary() throws IOException {
+        BrowserHistory loaded = new BrowserHistory(savedBinary);
+        loaded.loadHistoryFromBinaryFile(savedBinary);
+        return loaded;
+    }
+}
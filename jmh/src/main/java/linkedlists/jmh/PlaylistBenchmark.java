@@ -0,0 +1,213 @@
+package linkedlists.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import linkedlists.playlist.ArrayListPlaylist;
+import linkedlists.playlist.BasicPlayList;
+import linkedlists.playlist.EnhancedPlaylist;
+import linkedlists.playlist.FullyFunctionalPlaylist;
+import linkedlists.playlist.GapBufferPlaylist;
+import linkedlists.playlist.Playlist;
+import linkedlists.playlist.Song;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The PlaylistBenchmark class runs the same workloads on every {@link Playlist}, so that the
+ * structure behind a playlist can be chosen by measurement. Each workload starts from a fresh
+ * playlist; the removal workloads start from one already filled with the benchmark's songs,
+ * which is done outside the timed part. Pick the playlists and sizes with {@code -p}, for example
+ * {@code java -jar jmh/target/benchmarks.jar PlaylistBenchmark -p backend=GapBufferPlaylist -p songs=10000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaylistBenchmark {
+    // The number of distinct titles the songs cycle through
+    private static final int TITLES = 10;
+
+    // The playlist to run the workloads on
+    @Param({ "BasicPlayList", "EnhancedPlaylist", "FullyFunctionalPlaylist", "ArrayListPlaylist", "GapBufferPlaylist" })
+    public String backend;
+
+    // The number of songs in each workload
+    @Param({ "10000", "50000" })
+    public int songs;
+
+    // The titles of the songs, made up front so the benchmark only times the playlist
+    private String[] titles;
+    // The songs as a batch, for the bulk append
+    private List<Song> batch;
+
+    /**
+     * Makes the titles and the batch once for each size.
+     */
+    @Setup
+    public void makeSongs() {
+        titles = new String[songs];
+        batch = new ArrayList<>(songs);
+        for (int i = 0; i < songs; i++) {
+            titles[i] = "Song " + (i % TITLES);
+            batch.add(new Song(titles[i], "Artist", 180));
+        }
+    }
+
+    /**
+     * A playlist filled with the benchmark's songs before each call, for the removal workloads.
+     */
+    @State(Scope.Thread)
+    public static class Filled {
+        // The filled playlist
+        Playlist playlist;
+
+        /**
+         * Fills a fresh playlist. It runs before every call, so the sizes are kept large enough
+         * that each call does thousands of removals and JMH's own timing around it is lost in the noise.
+         *
+         * @param benchmark The benchmark, for the playlist and the songs to fill it with
+         */
+        @Setup(Level.Invocation)
+        public void fill(PlaylistBenchmark benchmark) {
+            playlist = benchmark.newPlaylist();
+            for (String title : benchmark.titles) {
+                playlist.addSong(title, "Artist", 180);
+            }
+        }
+    }
+
+    /**
+     * Makes an empty playlist of the kind being benchmarked.
+     *
+     * @return The empty playlist
+     */
+    Playlist newPlaylist() {
+        switch (backend) {
+            case "BasicPlayList":
+                return new BasicPlayList();
+            case "EnhancedPlaylist":
+                return new EnhancedPlaylist();
+            case "FullyFunctionalPlaylist":
+                return new FullyFunctionalPlaylist();
+            case "ArrayListPlaylist":
+                return new ArrayListPlaylist();
+            case "GapBufferPlaylist":
+                return new GapBufferPlaylist();
+            default:
+                throw new IllegalArgumentException("Unknown playlist: " + backend);
+        }
+    }
+
+    /**
+     * Appends every song with addSong.
+     *
+     * @return The playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public Playlist append() {
+        Playlist playlist = newPlaylist();
+        for (String title : titles) {
+            playlist.addSong(title, "Artist", 180);
+        }
+        return playlist;
+    }
+
+    /**
+     * Appends every song with one addAll.
+     *
+     * @return The playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public Playlist bulkAppend() {
+        Playlist playlist = newPlaylist();
+        playlist.addAll(batch);
+        return playlist;
+    }
+
+    /**
+     * Inserts every song at the front.
+     *
+     * @return The playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public Playlist insertAtFront() {
+        Playlist playlist = newPlaylist();
+        for (String title : titles) {
+            playlist.addSongAtPosition(title, "Artist", 180, 1);
+        }
+        return playlist;
+    }
+
+    /**
+     * Inserts every song in the middle.
+     *
+     * @return The playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public Playlist insertInMiddle() {
+        Playlist playlist = newPlaylist();
+        for (String title : titles) {
+            playlist.addSongAtPosition(title, "Artist", 180, playlist.size() / 2 + 1);
+        }
+        return playlist;
+    }
+
+    /**
+     * Removes every song from the front of a filled playlist.
+     *
+     * @param filled The filled playlist
+     * @return The playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public Playlist removeFromFront(Filled filled) {
+        Playlist playlist = filled.playlist;
+        for (int i = 0; i < songs; i++) {
+            playlist.removeSongByPosition(1);
+        }
+        return playlist;
+    }
+
+    /**
+     * Removes every song from the middle of a filled playlist.
+     *
+     * @param filled The filled playlist
+     * @return The playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public Playlist removeFromMiddle(Filled filled) {
+        Playlist playlist = filled.playlist;
+        for (int i = 0; i < songs; i++) {
+            playlist.removeSongByPosition(playlist.size() / 2 + 1);
+        }
+        return playlist;
+    }
+
+    /**
+     * Removes each title from a filled playlist, which takes every song with that title.
+     *
+     * @param filled The filled playlist
+     * @return The playlist, so the work cannot be dropped as unused
+     */
+    @Benchmark
+    public Playlist removeByTitle(Filled filled) {
+        Playlist playlist = filled.playlist;
+        for (int i = 0; i < TITLES; i++) {
+            playlist.removeSongByTitle("Song " + i);
+        }
+        return playlist;
+    }
+}